@@ -0,0 +1,29 @@
+#!/bin/sh
+# Compares CLI wall time with and without the class data sharing archive.
+# usage: startup-bench.sh [runs] [yang-dir] [module ...]
+# Run from the cli module after 'mvn package -Pappcds'.
+RUNS=${1:-10}
+YANG_DIR=${2:-../swagger-generator/src/test/resources/example}
+[ $# -gt 2 ] && shift 2 || set --
+JAR=$(ls target/swagger-generator-cli-*-executable.jar | head -n 1)
+JSA="${JAR%.jar}.jsa"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+run() {
+    start=$(date +%s%N)
+    i=0
+    while [ $i -lt "$RUNS" ]; do
+        "$JAVA" "$@" -jar "$JAR" -yang-dir "$YANG_DIR" -output /dev/null $MODULES > /dev/null 2>&1
+        i=$((i + 1))
+    done
+    end=$(date +%s%N)
+    echo $(( (end - start) / RUNS / 1000000 ))
+}
+
+MODULES="$*"
+echo "default CDS : $(run -Xshare:auto) ms"
+if [ -f "$JSA" ]; then
+    echo "AppCDS      : $(run -XX:SharedArchiveFile="$JSA" -Xshare:auto) ms"
+else
+    echo "no archive found at $JSA, build with -Pappcds"
+fi
@@ -0,0 +1,68 @@
+package com.mrv.yangtools.codegen.main;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.mrv.yangtools.codegen.SwaggerGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generation jobs for batch mode of the CLI. Example manifest:
+ * <pre>
+ * yang-dir: models
+ * threads: 4
+ * jobs:
+ *   - output: out/services.yaml
+ *     modules: [mef-services]
+ *   - output: out/all.json
+ *     format: json
+ *     api-version: 2.0
+ * </pre>
+ * All jobs share the schema context built from <code>yang-dir</code> (or <code>-yang-dir</code> option).
+ */
+class BatchManifest {
+    @JsonProperty("yang-dir")
+    String yangDir;
+
+    @JsonProperty
+    Integer threads;
+
+    @JsonProperty
+    List<Job> jobs = new ArrayList<>();
+
+    static class Job {
+        @JsonProperty(required = true)
+        String output;
+
+        @JsonProperty
+        List<String> modules;
+
+        SwaggerGenerator.Format format = SwaggerGenerator.Format.YAML;
+
+        @JsonProperty("api-version")
+        String apiVersion = "1.0";
+
+        @JsonProperty
+        void setFormat(String format) {
+            this.format = SwaggerGenerator.Format.valueOf(format.toUpperCase());
+        }
+    }
+
+    static BatchManifest read(File manifest) throws IOException {
+        //a key without a value (e.g. 'jobs:') is read as an empty string
+        BatchManifest result = new ObjectMapper(new YAMLFactory())
+                .enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT)
+                .readValue(manifest, BatchManifest.class);
+        if(result == null) throw new IllegalArgumentException("empty manifest " + manifest);
+        if(result.jobs == null) result.jobs = new ArrayList<>();
+        for(Job job : result.jobs) {
+            if(job == null || job.output == null) throw new IllegalArgumentException("output is required for each job in " + manifest);
+        }
+        return result;
+    }
+}
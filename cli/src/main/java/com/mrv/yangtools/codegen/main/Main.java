@@ -4,9 +4,16 @@ import java.io.*;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -23,6 +30,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mrv.yangtools.codegen.SwaggerGenerator;
+import com.mrv.yangtools.codegen.impl.SchemaContextIndex;
 import com.mrv.yangtools.common.SchemaBuilder;
 
 public class Main {
@@ -44,6 +52,21 @@ public class Main {
     
     @Option(name = "-api-version", usage = "Version of api generated - default 1.0", metaVar = "file")
     public String apiVersion = "1.0";
+
+    @Option(name = "-strategy", usage = "Strategy of model generation - defaults to optimizing with options of optimizing, unpacking or deduplicating", metaVar = "enum")
+    public SwaggerGenerator.Strategy strategy = SwaggerGenerator.Strategy.optimizing;
+
+    @Option(name = "-ignore-descriptions", usage = "Merge definitions that differ only by descriptions - for deduplicating strategy")
+    public boolean ignoreDescriptions;
+
+    @Option(name = "-batch", usage = "YAML manifest with generation jobs. YANG modules are parsed once and shared by all jobs", metaVar = "file")
+    public String batch;
+
+    @Option(name = "-profile", usage = "Print profiling report to stderr after generation (options: TEXT, JSON)", metaVar = "enum")
+    public Profiler.Format profile;
+
+    @Option(name = "-profile-top", usage = "Number of the slowest modules and subtrees in profiling report", metaVar = "int")
+    public int profileTop = 10;
     
     OutputStream out = System.out;
 
@@ -54,8 +77,11 @@ public class Main {
 
         try {
             parser.parseArgument(args);
-            main.init();
-            main.generate();
+            if(main.batch != null) {
+                main.batch();
+            } else {
+                main.generate();
+            }
         } catch (CmdLineException e) {
             System.err.println(e.getMessage());
             parser.printUsage(System.err);
@@ -71,18 +97,98 @@ public class Main {
     }
 
     protected void generate() throws IOException, ReactorException {
-        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:*.yang");
+        final Profiler profiler = profiler();
+        final SchemaContext context = buildSchemaContext(yangDir);
+        if(profiler != null) profiler.parsed();
+        final Set<Module> toGenerate = toGenerate(context, modules);
+
+        final SwaggerGenerator generator = generator(new SchemaContextIndex(context), toGenerate, outputFormat, apiVersion);
+        if(profiler != null) generator.listener(profiler.listener());
+        //open output only when there is something to write
+        init();
+        generator.generate(new OutputStreamWriter(out));
+        if(profiler != null) profiler.report(profile, System.err);
+    }
+
+    private Profiler profiler() {
+        return profile == null ? null : new Profiler(profileTop);
+    }
+
+    /**
+     * Run all jobs from the batch manifest against a single schema context.
+     * Jobs are run concurrently, a failure of a job does not stop the others.
+     */
+    protected void batch() throws IOException, ReactorException, InterruptedException {
+        final BatchManifest manifest = BatchManifest.read(new File(batch));
+        final Profiler profiler = profiler();
+        final SchemaContext context = buildSchemaContext(manifest.yangDir == null ? yangDir : manifest.yangDir);
+        if(profiler != null) profiler.parsed();
+        final SchemaContextIndex index = new SchemaContextIndex(context);
+
+        int threads = manifest.threads == null ? Runtime.getRuntime().availableProcessors() : manifest.threads;
+        threads = Math.max(1, Math.min(threads, manifest.jobs.size()));
+        log.info("running {} jobs with {} threads", manifest.jobs.size(), threads);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<?>> results = new ArrayList<>();
+        try {
+            manifest.jobs.forEach(job -> results.add(executor.submit(() -> {
+                run(index, job, profiler);
+                return null;
+            })));
+
+            int failed = 0;
+            for(int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("Error while generating " + manifest.jobs.get(i).output, e.getCause());
+                }
+            }
+            if(profiler != null) profiler.report(profile, System.err);
+            if(failed > 0) {
+                throw new IllegalStateException(failed + " of " + results.size() + " jobs failed");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(SchemaContextIndex index, BatchManifest.Job job, Profiler profiler) throws IOException {
+        final File output = new File(job.output);
+        if(output.getAbsoluteFile().getParentFile() != null) {
+            Files.createDirectories(output.getAbsoluteFile().getParentFile().toPath());
+        }
+        final SwaggerGenerator generator = generator(index, toGenerate(index.getContext(), job.modules), job.format, job.apiVersion);
+        if(profiler != null) generator.listener(profiler.listener());
+
+        try(Writer writer = Files.newBufferedWriter(output.toPath(), StandardCharsets.UTF_8)) {
+            generator.generate(writer);
+        }
+        log.info("generated {}", output);
+    }
 
-        final SchemaContext context = buildSchemaContext(yangDir, p -> matcher.matches(p.getFileName()));
-        final Set<Module> toGenerate = context.getModules().stream().filter(m -> modules == null || modules.contains(m.getName()))
+    private static Set<Module> toGenerate(SchemaContext context, List<String> modules) {
+        return context.getModules().stream().filter(m -> modules == null || modules.contains(m.getName()))
                 .collect(Collectors.toSet());
+    }
 
-        final SwaggerGenerator generator = new SwaggerGenerator(context, toGenerate)
-        		.version(apiVersion)
-                .format(outputFormat).consumes("application/xml").produces("application/xml")
+    private SwaggerGenerator generator(SchemaContextIndex index, Set<Module> toGenerate, SwaggerGenerator.Format format, String version) {
+        SwaggerGenerator generator = new SwaggerGenerator(index, toGenerate)
+        		.version(version)
+                .format(format).consumes("application/xml").produces("application/xml")
                 .host("localhost:1234").elements(SwaggerGenerator.Elements.DATA, SwaggerGenerator.Elements.RCP);
+        if(strategy == SwaggerGenerator.Strategy.deduplicating) {
+            return generator.deduplicating(ignoreDescriptions);
+        }
+        if(ignoreDescriptions) log.warn("descriptions are ignored by deduplicating strategy only");
+        return generator.strategy(strategy);
+    }
 
-        generator.generate(new OutputStreamWriter(out));
+    protected SchemaContext buildSchemaContext(String dir) throws ReactorException, IOException {
+        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:*.yang");
+        return buildSchemaContext(dir, p -> matcher.matches(p.getFileName()));
     }
 
     protected SchemaContext buildSchemaContext(String dir, Predicate<Path> accept)
@@ -0,0 +1,143 @@
+package com.mrv.yangtools.codegen.main;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mrv.yangtools.codegen.GenerationListener;
+import com.mrv.yangtools.codegen.impl.SummaryReporter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Profiling report of a CLI run: wall time per phase, the slowest modules and subtrees,
+ * size of the output, the sum of peak usages of heap memory pools (an upper bound of the peak heap usage)
+ * and bytes allocated by the live threads.
+ */
+class Profiler {
+
+    enum Format { TEXT, JSON }
+
+    private final int top;
+    private final SummaryReporter reporter;
+    private final long start;
+    private final Map<Long, Long> allocated;
+    private long parse;
+
+    Profiler(int top) {
+        this.top = top;
+        this.reporter = new SummaryReporter(top);
+        ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .forEach(MemoryPoolMXBean::resetPeakUsage);
+        this.allocated = allocatedBytes();
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Mark schema context as built. Parse phase starts with the profiler.
+     */
+    void parsed() {
+        parse = System.nanoTime() - start;
+    }
+
+    GenerationListener listener() {
+        return reporter;
+    }
+
+    /**
+     * Write the report. Has to be called before the generation threads terminate to account their allocations.
+     * @param format of the report
+     * @param out stream to write to
+     * @throws IOException when report cannot be written
+     */
+    void report(Format format, PrintStream out) throws IOException {
+        Map<String, Object> report = report();
+        if(format == Format.JSON) {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, report);
+            out.println();
+            return;
+        }
+        out.println("Profile");
+        report.forEach((key, value) -> {
+            if(value instanceof Map) {
+                out.println(String.format("  %s:", key));
+                ((Map<?, ?>) value).forEach((k, v) -> out.println(String.format("    %-40s %10s", k, v)));
+            } else if(value instanceof List) {
+                out.println(String.format("  %s:", key));
+                ((List<?>) value).stream().map(v -> (Map<?, ?>) v).forEach(n ->
+                        out.println(String.format("    %-40s %7s ms %5s models %5s paths",
+                                n.get("path"), n.get("ms"), n.get("models"), n.get("paths"))));
+            } else {
+                out.println(String.format("  %-42s %10s", key + ":", value));
+            }
+        });
+        out.flush();
+    }
+
+    private Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("wall-ms", ms(System.nanoTime() - start));
+
+        Map<String, Long> phases = new LinkedHashMap<>();
+        phases.put("parse", ms(parse));
+        for(GenerationListener.Phase phase : GenerationListener.Phase.values()) {
+            phases.put(phase.name().toLowerCase(), ms(reporter.getNanos(phase)));
+        }
+        report.put("phases-ms", phases);
+
+        Map<String, Long> modules = new LinkedHashMap<>();
+        reporter.getNanos(GenerationListener.Phase.PATHS, top).forEach((m, n) -> modules.put(m, ms(n)));
+        report.put("slowest-modules-ms", modules);
+
+        report.put("slowest-subtrees", reporter.getSlowest().stream().map(n -> {
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("path", n.getPath());
+            node.put("ms", ms(n.getNanos()));
+            node.put("models", n.getModels());
+            node.put("paths", n.getPaths());
+            return node;
+        }).collect(Collectors.toList()));
+
+        report.put("definitions", reporter.getDefinitions());
+        report.put("paths", reporter.getPaths());
+        report.put("sum-of-pool-peaks-bytes", ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .mapToLong(p -> p.getPeakUsage().getUsed()).sum());
+
+        Map<Long, Long> now = allocatedBytes();
+        if(!now.isEmpty()) {
+            report.put("allocated-bytes", now.entrySet().stream()
+                    .mapToLong(e -> e.getValue() - allocated.getOrDefault(e.getKey(), 0L)).sum());
+        }
+        return report;
+    }
+
+    /**
+     * @return bytes allocated so far per live thread or empty map if not supported by JVM
+     */
+    private static Map<Long, Long> allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if(!(threads instanceof com.sun.management.ThreadMXBean)) return Collections.emptyMap();
+        com.sun.management.ThreadMXBean mxBean = (com.sun.management.ThreadMXBean) threads;
+        if(!mxBean.isThreadAllocatedMemorySupported() || !mxBean.isThreadAllocatedMemoryEnabled()) return Collections.emptyMap();
+
+        long[] ids = mxBean.getAllThreadIds();
+        long[] bytes = mxBean.getThreadAllocatedBytes(ids);
+        Map<Long, Long> result = new HashMap<>();
+        for(int i = 0; i < ids.length; i++) {
+            if(bytes[i] >= 0) result.put(ids[i], bytes[i]);
+        }
+        return result;
+    }
+
+    private static long ms(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
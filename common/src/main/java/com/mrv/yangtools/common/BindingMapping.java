@@ -15,6 +15,9 @@ import java.util.stream.StreamSupport;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Interner;
 import com.google.common.collect.Interners;
@@ -53,6 +56,12 @@ public final class BindingMapping {
         }
     };
     private static final Interner<String> PACKAGE_INTERNER = Interners.newWeakInterner();
+    private static final int NAMES_CACHE_SIZE = 4096;
+    private static final LoadingCache<String, String> CLASS_NAMES = CacheBuilder.newBuilder()
+            .maximumSize(NAMES_CACHE_SIZE).build(CacheLoader.from(s -> toFirstUpper(toCamelCase(s))));
+    private static final LoadingCache<String, String> PACKAGE_SEGMENTS = CacheBuilder.newBuilder()
+            .maximumSize(NAMES_CACHE_SIZE).build(CacheLoader.from(s -> StreamSupport.stream(CAMEL_SPLITTER.split(s).spliterator(), false)
+                    .map(segment -> checkNumericPrefix(segment.toLowerCase())).collect(Collectors.joining("."))));
 
     private BindingMapping() {
         throw new UnsupportedOperationException("Utility class should not be instantiated");
@@ -140,7 +149,7 @@ public final class BindingMapping {
 
     public static String getClassName(String localName) {
         Preconditions.checkArgument(localName != null, "Name should not be null.");
-        return toFirstUpper(toCamelCase(localName));
+        return CLASS_NAMES.getUnchecked(localName);
     }
 
     public static String getMethodName(String yangIdentifier) {
@@ -150,9 +159,7 @@ public final class BindingMapping {
 
     public static String getClassName(QName name) {
         Preconditions.checkArgument(name != null, "Name should not be null.");
-
-
-        return toFirstUpper(toCamelCase(name.getLocalName()));
+        return getClassName(name.getLocalName());
     }
 
     public static String getGetterSuffix(QName name) {
@@ -169,10 +176,7 @@ public final class BindingMapping {
     public static String nameToPackageSegment(String rawString) {
 //        com.mrv.yangtools.codegen.impl.ModuleUtils
         Preconditions.checkArgument(rawString != null, "String should not be null");
-
-        return StreamSupport.stream(CAMEL_SPLITTER.split(rawString).spliterator(), false)
-                    .map(s -> checkNumericPrefix(s.toLowerCase())).collect(Collectors.joining("."));
-
+        return PACKAGE_SEGMENTS.getUnchecked(rawString);
 
     }
 
@@ -11,6 +11,7 @@
 
 package com.mrv.yangtools.common;
 
+import com.mrv.yangtools.common.jfr.GenerationEvents;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
 import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
@@ -83,7 +84,12 @@ public class SchemaBuilder {
                     throw new IllegalStateException(y + " is not a file");
                 }
             }
-            resolveSchemaContext = reactor.buildEffective(new ArrayList<InputStream>(yangsStreams));
+            GenerationEvents.Scope event = GenerationEvents.begin("parse", null, yangs.size() + " files");
+            try {
+                resolveSchemaContext = reactor.buildEffective(new ArrayList<InputStream>(yangsStreams));
+            } finally {
+                event.end();
+            }
             return resolveSchemaContext;
         } finally {
 
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event type. Loaded only if JFR is available, see {@link GenerationEvents}.
+ * @author bartosz.michalik@amartus.com
+ */
+@Name("com.mrv.yangtools.Generation")
+@Label("YANG to Swagger")
+@Category("yangtools")
+class GenerationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Module")
+    String module;
+
+    @Label("Node")
+    String node;
+
+    /**
+     * Instantiated reflectively by {@link GenerationEvents}
+     */
+    static class JfrRecorder implements GenerationEvents.Recorder {
+        @Override
+        public boolean recording() {
+            return FlightRecorder.isInitialized();
+        }
+
+        @Override
+        public GenerationEvents.Scope begin(String operation, String module, String node) {
+            GenerationEvent event = new GenerationEvent();
+            if(!event.isEnabled()) return GenerationEvents.NONE;
+            event.operation = operation;
+            event.module = module;
+            event.node = node;
+            event.begin();
+            return event::commit;
+        }
+    }
+}
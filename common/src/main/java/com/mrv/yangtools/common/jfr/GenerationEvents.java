@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.common.jfr;
+
+/**
+ * Java Flight Recorder events of YANG parsing and Swagger generation.
+ * Events are emitted only if JFR is available in the runtime (JDK 8u262 or newer) and a recording has been started
+ * (e.g. with <code>-XX:StartFlightRecording</code>), otherwise {@link #begin(String, String, String)} returns a no-op scope.
+ * JFR classes are loaded reflectively, so the library runs on older runtimes as well.
+ * Building the module requires a JDK that provides <code>jdk.jfr</code>.
+ * <p>
+ * Usage:
+ * <pre>
+ * GenerationEvents.Scope event = GenerationEvents.begin("parse", null, null);
+ * try {
+ *     ...
+ * } finally {
+ *     event.end();
+ * }
+ * </pre>
+ * @author bartosz.michalik@amartus.com
+ */
+public final class GenerationEvents {
+
+    /**
+     * Timed region of a single event
+     */
+    public interface Scope {
+        /**
+         * Finish the region and commit the event
+         */
+        void end();
+    }
+
+    /**
+     * Source of events
+     */
+    interface Recorder {
+        boolean recording();
+        Scope begin(String operation, String module, String node);
+    }
+
+    public static final Scope NONE = () -> {};
+
+    private static final Recorder RECORDER = recorder();
+
+    private GenerationEvents() {}
+
+    private static Recorder recorder() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return (Recorder) Class.forName(GenerationEvents.class.getPackage().getName() + ".GenerationEvent$JfrRecorder")
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Cheap check to avoid computing event attributes when there is no recording
+     * @return <code>true</code> if events might be recorded
+     */
+    public static boolean enabled() {
+        return RECORDER != null && RECORDER.recording();
+    }
+
+    /**
+     * Start event
+     * @param operation name of the operation (e.g. parse, processModule, model)
+     * @param module module name or <code>null</code>
+     * @param node node, postprocessor or output name, might be <code>null</code>
+     * @return scope to be ended when the operation finishes
+     */
+    public static Scope begin(String operation, String module, String node) {
+        if(!enabled()) return NONE;
+        return RECORDER.begin(operation, module, node);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import io.swagger.models.Swagger;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+
+import java.util.Objects;
+
+/**
+ * Receives progress and timing events from {@link SwaggerGenerator} and {@link IoCSwaggerGenerator}.
+ * Timings are not measured at all if no listener is registered.
+ * Serialization events of {@link SwaggerGenerator#generate(java.util.List)} might be delivered concurrently.
+ * @author bartosz.michalik@amartus.com
+ */
+public interface GenerationListener {
+
+    enum Phase {
+        /**
+         * data object builder pre-processing of a module
+         */
+        PROCESS_MODULE,
+        /**
+         * generation of paths (and related models) for a module
+         */
+        PATHS,
+        /**
+         * a single Swagger postprocessor
+         */
+        POSTPROCESSOR,
+        /**
+         * writing of the generated definition
+         */
+        SERIALIZATION
+    }
+
+    /**
+     * @param phase started
+     * @param name of the module, postprocessor or output
+     */
+    default void phaseStarted(Phase phase, String name) {}
+
+    /**
+     * @param phase finished
+     * @param name of the module, postprocessor or output
+     * @param nanos time spent in the phase
+     */
+    default void phaseFinished(Phase phase, String name, long nanos) {}
+
+    /**
+     * Data node (container or list) processed together with its subtree
+     * @param module name of the generated module
+     * @param node visited
+     * @param nanos time spent in the subtree
+     * @param models number of definitions added in the subtree
+     * @param paths number of paths added in the subtree
+     */
+    default void nodeVisited(String module, DataSchemaNode node, long nanos, int models, int paths) {}
+
+    /**
+     * Generation (without serialization) is finished
+     * @param swagger generated definition
+     * @param nanos total generation time
+     */
+    default void generated(Swagger swagger, long nanos) {}
+
+    /**
+     * @param first listener
+     * @param second listener
+     * @return listener that notifies both listeners
+     */
+    static GenerationListener compose(GenerationListener first, GenerationListener second) {
+        Objects.requireNonNull(second);
+        if(first == null) return second;
+        return new GenerationListener() {
+            @Override
+            public void phaseStarted(Phase phase, String name) {
+                first.phaseStarted(phase, name);
+                second.phaseStarted(phase, name);
+            }
+
+            @Override
+            public void phaseFinished(Phase phase, String name, long nanos) {
+                first.phaseFinished(phase, name, nanos);
+                second.phaseFinished(phase, name, nanos);
+            }
+
+            @Override
+            public void nodeVisited(String module, DataSchemaNode node, long nanos, int models, int paths) {
+                first.nodeVisited(module, node, nanos, models, paths);
+                second.nodeVisited(module, node, nanos, models, paths);
+            }
+
+            @Override
+            public void generated(Swagger swagger, long nanos) {
+                first.generated(swagger, nanos);
+                second.generated(swagger, nanos);
+            }
+        };
+    }
+}
@@ -16,6 +16,7 @@ import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -41,9 +42,11 @@ import com.google.inject.assistedinject.Assisted;
 import com.mrv.yangtools.codegen.impl.AnnotatingTypeConverter;
 import com.mrv.yangtools.codegen.impl.ModuleUtils;
 import com.mrv.yangtools.codegen.impl.OptimizingDataObjectBuilder;
+import com.mrv.yangtools.codegen.impl.SchemaContextIndex;
 import com.mrv.yangtools.codegen.impl.UnpackingDataObjectsBuilder;
 import com.mrv.yangtools.codegen.impl.postprocessor.ReplaceEmptyWithParent;
 import com.mrv.yangtools.codegen.impl.postprocessor.SortDefinitions;
+import com.mrv.yangtools.common.jfr.GenerationEvents;
 
 import io.swagger.models.Info;
 import io.swagger.models.Swagger;
@@ -68,11 +71,13 @@ import io.swagger.models.Swagger;
 public class IoCSwaggerGenerator {
     private static final Logger log = LoggerFactory.getLogger(IoCSwaggerGenerator.class);
     private final SchemaContext ctx;
+    private final SchemaContextIndex index;
     private final Set<Module> modules;
     private final Swagger target;
     private final Set<String> moduleNames;
     private final ModuleUtils moduleUtils;
-    private Consumer<Swagger> postprocessor;
+    private final List<Consumer<Swagger>> postprocessors;
+    private GenerationListener listener;
     private DataObjectBuilder dataObjectsBuilder;
     private ObjectMapper mapper;
     private int maxDepth = Integer.MAX_VALUE;
@@ -123,10 +128,11 @@ public class IoCSwaggerGenerator {
         Objects.requireNonNull(modulesToGenerate);
         if(modulesToGenerate.isEmpty()) throw new IllegalStateException("No modules to generate has been specified");
         this.ctx = ctx;
+        this.index = new SchemaContextIndex(ctx);
         this.modules = modulesToGenerate;
         target = new Swagger();
-        converter = new AnnotatingTypeConverter(ctx);
-        moduleUtils = new ModuleUtils(ctx);
+        converter = new AnnotatingTypeConverter(index);
+        moduleUtils = index.getModuleUtils();
         this.moduleNames = modulesToGenerate.stream().map(ModuleIdentifier::getName).collect(Collectors.toSet());
         //assign default strategy
         strategy(Strategy.optimizing);
@@ -135,7 +141,7 @@ public class IoCSwaggerGenerator {
         target.info(new Info());
 
         //default postprocessors
-        postprocessor = new ReplaceEmptyWithParent().andThen(new SortDefinitions());
+        postprocessors = new ArrayList<>(Arrays.asList(new ReplaceEmptyWithParent(), new SortDefinitions()));
     }
 
     /**
@@ -160,7 +166,17 @@ public class IoCSwaggerGenerator {
 
     public IoCSwaggerGenerator appendPostProcessor(Consumer<Swagger> swaggerPostprocessor) {
         Objects.requireNonNull(swaggerPostprocessor);
-        postprocessor = postprocessor.andThen(swaggerPostprocessor);
+        postprocessors.add(swaggerPostprocessor);
+        return this;
+    }
+
+    /**
+     * Register listener of the generation progress
+     * @param listener to be notified
+     * @return this
+     */
+    public IoCSwaggerGenerator listener(GenerationListener listener) {
+        this.listener = GenerationListener.compose(this.listener, listener);
         return this;
     }
 
@@ -174,10 +190,10 @@ public class IoCSwaggerGenerator {
 
         switch (strategy) {
             case optimizing:
-                this.dataObjectsBuilder = new OptimizingDataObjectBuilder(ctx, target, converter);
+                this.dataObjectsBuilder = new OptimizingDataObjectBuilder(index, target, converter);
                 break;
             default:
-                this.dataObjectsBuilder = new UnpackingDataObjectsBuilder(ctx, target, converter);
+                this.dataObjectsBuilder = new UnpackingDataObjectsBuilder(index, target, converter);
         }
         return this;
     }
@@ -280,7 +296,25 @@ public class IoCSwaggerGenerator {
 
         Swagger result = generate();
 
-        mapper.writeValue(target, result);
+        long start = phaseStarted(GenerationListener.Phase.SERIALIZATION, "swagger");
+        GenerationEvents.Scope event = GenerationEvents.begin("serialization", null, "swagger");
+        try {
+            mapper.writeValue(target, result);
+        } finally {
+            event.end();
+        }
+        phaseFinished(GenerationListener.Phase.SERIALIZATION, "swagger", start);
+    }
+
+    private long phaseStarted(GenerationListener.Phase phase, String name) {
+        if(listener == null) return 0;
+        listener.phaseStarted(phase, name);
+        return System.nanoTime();
+    }
+
+    private void phaseFinished(GenerationListener.Phase phase, String name, long start) {
+        if(listener == null) return;
+        listener.phaseFinished(phase, name, System.nanoTime() - start);
     }
 
     /**
@@ -299,15 +333,31 @@ public class IoCSwaggerGenerator {
         log.info("Generating swagger for yang modules: {}",
                 modules.stream().map(ModuleIdentifier::getName).collect(Collectors.joining(",","[", "]")));
 
+        final long start = listener == null ? 0 : System.nanoTime();
         modules.forEach(m -> {
             mNames.add(m.getName());
-            dataObjectsBuilder.processModule(m);
-
+            long phase = phaseStarted(GenerationListener.Phase.PROCESS_MODULE, m.getName());
+            GenerationEvents.Scope event = GenerationEvents.begin("processModule", m.getName(), null);
+            try {
+                dataObjectsBuilder.processModule(m);
+            } finally {
+                event.end();
+            }
+            phaseFinished(GenerationListener.Phase.PROCESS_MODULE, m.getName(), phase);
         });
         //initialize plugable path handler
         pathHandlerBuilder.configure(ctx, target, dataObjectsBuilder);
 
-        modules.forEach(m -> new ModuleGenerator(m).generate());
+        modules.forEach(m -> {
+            long phase = phaseStarted(GenerationListener.Phase.PATHS, m.getName());
+            GenerationEvents.Scope event = GenerationEvents.begin("paths", m.getName(), null);
+            try {
+                new ModuleGenerator(m).generate();
+            } finally {
+                event.end();
+            }
+            phaseFinished(GenerationListener.Phase.PATHS, m.getName(), phase);
+        });
 
         // update info with module names
         String modules = mNames.stream().collect(Collectors.joining(","));
@@ -316,6 +366,7 @@ public class IoCSwaggerGenerator {
                 .title(modules + " API");
 
         postProcessSwagger(target);
+        if(listener != null) listener.generated(target, System.nanoTime() - start);
 
         return target;
     }
@@ -330,7 +381,17 @@ public class IoCSwaggerGenerator {
             log.warn("Generated swagger has no definitions");
             return;
         }
-        postprocessor.accept(target);
+        for(Consumer<Swagger> postprocessor : postprocessors) {
+            String name = postprocessor.getClass().getSimpleName();
+            long start = phaseStarted(GenerationListener.Phase.POSTPROCESSOR, name);
+            GenerationEvents.Scope event = GenerationEvents.begin("postprocessor", null, name);
+            try {
+                postprocessor.accept(target);
+            } finally {
+                event.end();
+            }
+            phaseFinished(GenerationListener.Phase.POSTPROCESSOR, name, start);
+        }
     }
 
     private class ModuleGenerator {
@@ -348,13 +409,13 @@ public class IoCSwaggerGenerator {
 
         void generate() {
             if(toGenerate.contains(Elements.DATA)) {
-                pathCtx = new PathSegment(ctx)
+                pathCtx = new PathSegment(index)
                         .withModule(module.getName());
                 module.getChildNodes().forEach(n -> generate(n, maxDepth));
             }
 
             if(toGenerate.contains(Elements.RCP)) {
-                pathCtx = new PathSegment(ctx)
+                pathCtx = new PathSegment(index)
                         .withModule(module.getName());
                 module.getRpcs().forEach(this::generate);
             }
@@ -383,6 +444,10 @@ public class IoCSwaggerGenerator {
                 return;
             }
 
+            final long start = listener == null ? 0 : System.nanoTime();
+            final int models = listener == null ? 0 : models();
+            final int paths = listener == null ? 0 : paths();
+
             if(node instanceof ContainerSchemaNode) {
                 log.info("processing container statement {}", node.getQName().getLocalName() );
                 final ContainerSchemaNode cN = (ContainerSchemaNode) node;
@@ -397,6 +462,8 @@ public class IoCSwaggerGenerator {
                 dataObjectsBuilder.addModel(cN);
 
                 pathCtx = pathCtx.drop();
+                if(listener != null) listener.nodeVisited(module.getName(), cN,
+                        System.nanoTime() - start, models() - models, paths() - paths);
             } else if(node instanceof ListSchemaNode) {
                 log.info("processing list statement {}", node.getQName().getLocalName() );
                 final ListSchemaNode lN = (ListSchemaNode) node;
@@ -412,6 +479,8 @@ public class IoCSwaggerGenerator {
                 dataObjectsBuilder.addModel(lN);
 
                 pathCtx = pathCtx.drop();
+                if(listener != null) listener.nodeVisited(module.getName(), lN,
+                        System.nanoTime() - start, models() - models, paths() - paths);
             } else if (node instanceof ChoiceSchemaNode) {
                 //choice node and cases are invisible from the perspective of generating path
                 log.info("inlining choice statement {}", node.getQName().getLocalName() );
@@ -419,5 +488,13 @@ public class IoCSwaggerGenerator {
                         .flatMap(_case -> _case.getChildNodes().stream()).forEach(n -> generate(n, depth-1));
             }
         }
+
+        private int models() {
+            return target.getDefinitions() == null ? 0 : target.getDefinitions().size();
+        }
+
+        private int paths() {
+            return target.getPaths() == null ? 0 : target.getPaths().size();
+        }
     }
 }
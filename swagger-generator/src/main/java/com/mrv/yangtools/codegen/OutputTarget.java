@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Output of {@link SwaggerGenerator#generate(java.util.List)}.
+ * Target defines path style (via {@link PathHandlerBuilder}), format and whether a single
+ * or one Swagger definition per module is written.
+ * @author bartosz.michalik@amartus.com
+ */
+public class OutputTarget {
+
+    /**
+     * Provides writer for the given unit of the target. Writer is closed by the generator.
+     */
+    @FunctionalInterface
+    public interface WriterProvider {
+        /**
+         * @param module module name for per module targets, <code>null</code> otherwise
+         * @return writer to use
+         * @throws IOException when writer cannot be created
+         */
+        Writer open(String module) throws IOException;
+    }
+
+    private final String name;
+    private final WriterProvider output;
+    private SwaggerGenerator.Format format = SwaggerGenerator.Format.YAML;
+    private PathHandlerBuilder pathHandler;
+    private boolean perModule;
+
+    /**
+     * @param name of the target
+     * @param output writers provider
+     */
+    public OutputTarget(String name, WriterProvider output) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(output);
+        this.name = name;
+        this.output = output;
+    }
+
+    /**
+     * Output format
+     * @param format YAML or JSON
+     * @return this
+     */
+    public OutputTarget format(SwaggerGenerator.Format format) {
+        Objects.requireNonNull(format);
+        this.format = format;
+        return this;
+    }
+
+    /**
+     * Path style for the target. Targets that use the same builder instance share paths.
+     * If not set path handler configured for the generator is used.
+     * @param pathHandler to use
+     * @return this
+     */
+    public OutputTarget pathHandler(PathHandlerBuilder pathHandler) {
+        Objects.requireNonNull(pathHandler);
+        this.pathHandler = pathHandler;
+        return this;
+    }
+
+    /**
+     * Write separate Swagger definition for each generated module
+     * @return this
+     */
+    public OutputTarget perModule() {
+        this.perModule = true;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SwaggerGenerator.Format getFormat() {
+        return format;
+    }
+
+    public PathHandlerBuilder getPathHandler() {
+        return pathHandler;
+    }
+
+    public boolean isPerModule() {
+        return perModule;
+    }
+
+    Writer open(String module) throws IOException {
+        return output.open(module);
+    }
+}
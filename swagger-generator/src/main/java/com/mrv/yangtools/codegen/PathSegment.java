@@ -11,6 +11,8 @@
 
 package com.mrv.yangtools.codegen;
 
+import com.mrv.yangtools.codegen.impl.SchemaContextIndex;
+import com.mrv.yangtools.codegen.impl.SchemaContextRegistry;
 import com.mrv.yangtools.codegen.impl.TypeConverter;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.models.parameters.PathParameter;
@@ -22,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -44,14 +47,24 @@ public class PathSegment implements Iterable<PathSegment> {
     //local parameters
     private List<Parameter> localParams;
     private boolean readOnly;
+    //rendered paths per printer dialect
+    private Map<Object, Rendered> rendered;
 
     /**
-     * To create a root segment of path
+     * To create a root segment of path. The context index is taken from {@link SchemaContextRegistry#shared()}.
      * @param ctx YANG context
      */
     public PathSegment(SchemaContext ctx) {
+        this(SchemaContextRegistry.shared().index(ctx));
+    }
+
+    /**
+     * To create a root segment of path
+     * @param index of YANG context, shared with the other converters of the context
+     */
+    public PathSegment(SchemaContextIndex index) {
         this(NULL);
-        this.converter = new TypeConverter(ctx) {
+        this.converter = new TypeConverter(index) {
             @Override
             protected boolean enumToModel() {
                 return false;
@@ -73,19 +86,31 @@ public class PathSegment implements Iterable<PathSegment> {
     public PathSegment withName(String name) {
         log.debug("adding {} to {}", name, parent.name);
         this.name = name;
+        modified();
         return this;
     }
 
     public PathSegment withModule(String module) {
         this.moduleName = module;
+        modified();
         return this;
     }
 
     public PathSegment withListNode(ListSchemaNode node) {
         this.node = node;
+        modified();
         return this;
     }
 
+    /**
+     * Drop cached paths and parameters of this segment. Segments of its subtree render again
+     * as soon as they notice that the path of this segment has changed.
+     */
+    private void modified() {
+        rendered = null;
+        localParams = null;
+    }
+
     public PathSegment asReadOnly(boolean readOnly) {
         if(!parent.readOnly) {
             this.readOnly = readOnly;
@@ -134,6 +159,25 @@ public class PathSegment implements Iterable<PathSegment> {
         return parent.params();
     }
 
+    /**
+     * Render path from root to this segment. The result is cached per dialect, so each segment is rendered once
+     * and its children only append their own segments. The cached path is used as long as the path of the parent
+     * is the same one that it was rendered from.
+     * @param dialect of the printer, segments rendered with the same dialect have to be rendered the same way
+     * @param segmentPrinter converts single segment to string
+     * @return rendered path
+     */
+    public String render(Object dialect, Function<PathSegment, String> segmentPrinter) {
+        final String prefix = parent.render(dialect, segmentPrinter);
+        Rendered path = rendered == null ? null : rendered.get(dialect);
+        if(path == null || path.prefix != prefix) {
+            path = new Rendered(prefix, prefix + segmentPrinter.apply(this));
+            if(rendered == null) rendered = new HashMap<>(4);
+            rendered.put(dialect, path);
+        }
+        return path.path;
+    }
+
     protected Collection<? extends Parameter> localParameters() {
         if(localParams == null) {
             if(node != null) {
@@ -212,6 +256,16 @@ public class PathSegment implements Iterable<PathSegment> {
         };
     }
 
+    private static class Rendered {
+        private final String prefix;
+        private final String path;
+
+        private Rendered(String prefix, String path) {
+            this.prefix = prefix;
+            this.path = path;
+        }
+    }
+
     private static PathSegment NULL = new PathSegment() {
 
         @Override
@@ -228,5 +282,10 @@ public class PathSegment implements Iterable<PathSegment> {
         public List<Parameter> listParams() {
             return params();
         }
+
+        @Override
+        public String render(Object dialect, Function<PathSegment, String> segmentPrinter) {
+            return "";
+        }
     };
 }
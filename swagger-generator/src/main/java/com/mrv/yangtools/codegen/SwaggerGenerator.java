@@ -15,23 +15,35 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.mrv.yangtools.codegen.impl.AbstractDataObjectBuilder;
 import com.mrv.yangtools.codegen.impl.AnnotatingTypeConverter;
 import com.mrv.yangtools.codegen.impl.ModuleUtils;
 import com.mrv.yangtools.codegen.impl.OptimizingDataObjectBuilder;
+import com.mrv.yangtools.codegen.impl.ReferencedDefinitions;
+import com.mrv.yangtools.codegen.impl.SchemaContextIndex;
 import com.mrv.yangtools.codegen.impl.UnpackingDataObjectsBuilder;
+import com.mrv.yangtools.codegen.impl.postprocessor.CompactModels;
+import com.mrv.yangtools.codegen.impl.postprocessor.MergeEquivalentDefinitions;
 import com.mrv.yangtools.codegen.impl.postprocessor.ReplaceEmptyWithParent;
 import com.mrv.yangtools.codegen.impl.postprocessor.SingleParentInheritenceModel;
 import com.mrv.yangtools.codegen.impl.postprocessor.SortDefinitions;
+import com.mrv.yangtools.common.jfr.GenerationEvents;
 import io.swagger.models.Info;
+import io.swagger.models.Path;
+import io.swagger.models.RefResponse;
 import io.swagger.models.Swagger;
+import io.swagger.models.parameters.RefParameter;
 import org.opendaylight.yangtools.yang.model.api.*;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -54,13 +66,20 @@ import java.util.stream.Collectors;
 public class SwaggerGenerator {
     private static final Logger log = LoggerFactory.getLogger(SwaggerGenerator.class);
     private final SchemaContext ctx;
+    private final SchemaContextIndex index;
     private final Set<Module> modules;
     private final Swagger target;
     private final Set<String> moduleNames;
     private final ModuleUtils moduleUtils;
-    private Consumer<Swagger> postprocessor;
+    private final List<Consumer<Swagger>> postprocessors;
+    private GenerationListener listener;
+    private Consumer<Swagger> compaction;
+    private boolean parallel;
+    private Function<List<String>, String> enumNaming;
+    private Strategy strategy;
+    private boolean ignoreDescriptions;
     private DataObjectBuilder dataObjectsBuilder;
-    private ObjectMapper mapper;
+    private Format format = Format.YAML;
     private int maxDepth = Integer.MAX_VALUE;
 
 
@@ -94,7 +113,15 @@ public class SwaggerGenerator {
         RCP
     }
 
-    public enum Strategy {optimizing, unpacking}
+    public enum Strategy {
+        optimizing,
+        unpacking,
+        /**
+         * {@link #optimizing} with definitions of the same structure merged into the definition with the lexicographically
+         * first name, see {@link MergeEquivalentDefinitions}
+         */
+        deduplicating
+    }
 
     /**
      * Preconfigure generator. By default it will genrate api for Data and RCP with JSon payloads only.
@@ -103,14 +130,25 @@ public class SwaggerGenerator {
      * @param modulesToGenerate modules that will be transformed to swagger API
      */
     public SwaggerGenerator(SchemaContext ctx, Set<Module> modulesToGenerate) {
-        Objects.requireNonNull(ctx);
+        this(new SchemaContextIndex(Objects.requireNonNull(ctx)), modulesToGenerate);
+    }
+
+    /**
+     * Preconfigure generator that reuses precomputed context data.
+     * Modules to generate might come from a context equivalent to the indexed one.
+     * @param index precomputed context data (e.g. from {@link com.mrv.yangtools.codegen.impl.SchemaContextRegistry})
+     * @param modulesToGenerate modules that will be transformed to swagger API
+     */
+    public SwaggerGenerator(SchemaContextIndex index, Set<Module> modulesToGenerate) {
+        Objects.requireNonNull(index);
         Objects.requireNonNull(modulesToGenerate);
         if(modulesToGenerate.isEmpty()) throw new IllegalStateException("No modules to generate has been specified");
-        this.ctx = ctx;
-        this.modules = modulesToGenerate;
+        this.index = index;
+        this.ctx = index.getContext();
+        this.modules = index.modules(modulesToGenerate);
         target = new Swagger();
-        converter = new AnnotatingTypeConverter(ctx);
-        moduleUtils = new ModuleUtils(ctx);
+        converter = new AnnotatingTypeConverter(index);
+        moduleUtils = index.getModuleUtils();
         this.moduleNames = modulesToGenerate.stream().map(ModuleIdentifier::getName).collect(Collectors.toSet());
         //assign default strategy
         strategy(Strategy.optimizing);
@@ -118,9 +156,8 @@ public class SwaggerGenerator {
         //no exposed swagger API
         target.info(new Info());
 
-        pathHandlerBuilder = new com.mrv.yangtools.codegen.rfc8040.PathHandlerBuilder();
-        //default postprocessors
-        postprocessor = new ReplaceEmptyWithParent().andThen(new SortDefinitions());
+        //appended postprocessors, the default ones are created when generation runs
+        postprocessors = new ArrayList<>();
     }
 
     /**
@@ -139,13 +176,69 @@ public class SwaggerGenerator {
      * @return this
      */
     public SwaggerGenerator tagGenerator(TagGenerator generator) {
-        pathHandlerBuilder.addTagGenerator(generator);
+        pathHandlerBuilder().addTagGenerator(generator);
         return this;
     }
 
     public SwaggerGenerator appendPostProcessor(Consumer<Swagger> swaggerPostprocessor) {
         Objects.requireNonNull(swaggerPostprocessor);
-        postprocessor = postprocessor.andThen(swaggerPostprocessor);
+        postprocessors.add(swaggerPostprocessor);
+        return this;
+    }
+
+    /**
+     * Share equal properties and intern strings of the generated definitions to reduce memory used by the result.
+     * Compaction runs after all postprocessors, see {@link CompactModels}.
+     * Generated definitions are read-only then, as a modified property might be used by many definitions.
+     * @return this
+     */
+    public SwaggerGenerator compact() {
+        compaction = new CompactModels();
+        return this;
+    }
+
+    /**
+     * Build models of independent top-level data nodes concurrently using the common fork-join pool.
+     * Supported for {@link Strategy#optimizing} and {@link Strategy#deduplicating} only.
+     * Models are shared between subtrees, so definitions are published in the same order and with the same names as in sequential generation.
+     * Per node model counts are not reported to listeners in this mode.
+     * @return this
+     */
+    public SwaggerGenerator parallel() {
+        this.parallel = true;
+        return this;
+    }
+
+    /**
+     * Emit a single definition for enumerations declared with the same ordered list of values, also across modules.
+     * The definition is named after the first enumeration with these values.
+     * @return this
+     */
+    public SwaggerGenerator internEnums() {
+        return internEnums(values -> null);
+    }
+
+    /**
+     * Emit a single definition for enumerations declared with the same ordered list of values, also across modules.
+     * @param naming hint for the name of the shared definition. If it returns <code>null</code>
+     *               the definition is named after the first enumeration with given values
+     * @return this
+     * @throws IllegalStateException if generation has already been run
+     */
+    public SwaggerGenerator internEnums(Function<List<String>, String> naming) {
+        Objects.requireNonNull(naming);
+        checkNotStarted();
+        this.enumNaming = naming;
+        return this;
+    }
+
+    /**
+     * Register listener of the generation progress
+     * @param listener to be notified
+     * @return this
+     */
+    public SwaggerGenerator listener(GenerationListener listener) {
+        this.listener = GenerationListener.compose(this.listener, listener);
         return this;
     }
 
@@ -153,26 +246,74 @@ public class SwaggerGenerator {
      * Configure strategy
      * @param strategy to be used
      * @return this
+     * @throws IllegalStateException if generation has already been run
      */
     public SwaggerGenerator strategy(Strategy strategy) {
         Objects.requireNonNull(strategy);
+        checkNotStarted();
+        this.strategy = strategy;
+        return this;
+    }
 
-        switch (strategy) {
-            case optimizing:
-                this.dataObjectsBuilder = new OptimizingDataObjectBuilder(ctx, target, converter);
-                break;
-            default:
-                this.dataObjectsBuilder = new UnpackingDataObjectsBuilder(ctx, target, converter);
-        }
+    /**
+     * Configure {@link Strategy#deduplicating} strategy.
+     * Each group of equivalent definitions is merged into the definition with the lexicographically first name.
+     * @param ignoreDescriptions if <code>true</code> definitions that differ only by descriptions are merged as well
+     * @return this
+     * @throws IllegalStateException if generation has already been run
+     */
+    public SwaggerGenerator deduplicating(boolean ignoreDescriptions) {
+        strategy(Strategy.deduplicating);
+        this.ignoreDescriptions = ignoreDescriptions;
         return this;
     }
 
+    /**
+     * Models of the target are built by the builder of the configured strategy, so the strategy cannot be changed
+     * once the builder exists
+     */
+    private void checkNotStarted() {
+        if(dataObjectsBuilder != null) {
+            throw new IllegalStateException("Data objects builder has been already created for " + strategy + " strategy");
+        }
+    }
+
+    /**
+     * Builder for the configured strategy. It is created on first use as it might be costly.
+     */
+    private DataObjectBuilder dataObjectsBuilder() {
+        if(dataObjectsBuilder == null) {
+            AbstractDataObjectBuilder builder;
+            switch (strategy) {
+                case optimizing:
+                case deduplicating:
+                    builder = new OptimizingDataObjectBuilder(index, target, converter);
+                    break;
+                default:
+                    builder = new UnpackingDataObjectsBuilder(index, target, converter);
+            }
+            if(enumNaming != null) builder.internEnums(enumNaming);
+            this.dataObjectsBuilder = builder;
+        }
+        return dataObjectsBuilder;
+    }
+
     public SwaggerGenerator pathHandler(PathHandlerBuilder handlerBuilder) {
         Objects.requireNonNull(handlerBuilder);
         this.pathHandlerBuilder = handlerBuilder;
         return this;
     }
 
+    /**
+     * Configured path handler builder, RESTCONF (RFC 8040) by default
+     */
+    private PathHandlerBuilder pathHandlerBuilder() {
+        if(pathHandlerBuilder == null) {
+            pathHandlerBuilder = new com.mrv.yangtools.codegen.rfc8040.PathHandlerBuilder();
+        }
+        return pathHandlerBuilder;
+    }
+
     /**
      * YANG elements that are taken into account during generation
      * @return this
@@ -188,16 +329,36 @@ public class SwaggerGenerator {
      * @return itself
      */
     public SwaggerGenerator format(Format f) {
+        Objects.requireNonNull(f);
+        format = f;
+        return this;
+    }
+
+    private static ObjectMapper mapper(Format f) {
         switch(f) {
             case YAML:
-                mapper = new ObjectMapper(new YAMLFactory());
-                break;
+                return YamlMapper.INSTANCE;
             case JSON:
             default:
-                mapper = new ObjectMapper(new JsonFactory());
+                return JsonMapper.INSTANCE;
         }
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        return this;
+        return mapper;
+    }
+
+    /**
+     * Mappers are configured once and thread-safe. Each is created on first use of its format,
+     * so Jackson YAML is not loaded for JSON output.
+     */
+    private static final class YamlMapper {
+        private static final ObjectMapper INSTANCE = configure(new ObjectMapper(new YAMLFactory()));
+    }
+
+    private static final class JsonMapper {
+        private static final ObjectMapper INSTANCE = configure(new ObjectMapper(new JsonFactory()));
     }
 
     /**
@@ -264,7 +425,14 @@ public class SwaggerGenerator {
 
         Swagger result = generate();
 
-        mapper.writeValue(target, result);
+        long start = phaseStarted(GenerationListener.Phase.SERIALIZATION, format.name());
+        GenerationEvents.Scope event = GenerationEvents.begin("serialization", null, format.name());
+        try {
+            mapper(format).writeValue(target, result);
+        } finally {
+            event.end();
+        }
+        phaseFinished(GenerationListener.Phase.SERIALIZATION, format.name(), start);
     }
 
     /**
@@ -272,26 +440,161 @@ public class SwaggerGenerator {
      * @return Swagger model
      */
     public Swagger generate() {
+        generate(Collections.singletonList(new PathStyle(pathHandlerBuilder(), target)), false);
+        return target;
+    }
+
+    /**
+     * Run Swagger generation for configured modules once and write the result to all targets.
+     * Data definitions are shared by all targets and paths are generated once for each distinct
+     * {@link PathHandlerBuilder} of the targets within a single traversal of the modules.
+     * Targets are serialized in parallel.
+     * @param outputs targets to write
+     * @throws IOException when problem with writing
+     */
+    public void generate(List<OutputTarget> outputs) throws IOException {
+        Objects.requireNonNull(outputs);
+        Map<PathHandlerBuilder, PathStyle> styles = new LinkedHashMap<>();
+        for(OutputTarget o : outputs) {
+            PathHandlerBuilder builder = o.getPathHandler() == null ? pathHandlerBuilder() : o.getPathHandler();
+            if(!styles.containsKey(builder)) {
+                //the first style works on target directly
+                styles.put(builder, new PathStyle(builder, styles.isEmpty() ? target : new Swagger()));
+            }
+        }
+        boolean perModule = outputs.stream().anyMatch(OutputTarget::isPerModule);
+
+        generate(styles.values(), perModule);
+
+        styles.values().stream().filter(s -> s.swagger != target).forEach(s -> {
+            s.swagger.info(target.getInfo()).host(target.getHost()).basePath(target.getBasePath());
+            s.swagger.setConsumes(target.getConsumes());
+            s.swagger.setProduces(target.getProduces());
+            s.swagger.setDefinitions(target.getDefinitions());
+        });
+
+        List<Runnable> units = new ArrayList<>();
+        for(OutputTarget o : outputs) {
+            ObjectMapper mapper = mapper(o.getFormat());
+            PathStyle style = styles.get(o.getPathHandler() == null ? pathHandlerBuilder() : o.getPathHandler());
+            if(o.isPerModule()) {
+                style.modulePaths.forEach((module, paths) ->
+                        units.add(() -> write(o, module, mapper, moduleSwagger(style.swagger, module, paths))));
+            } else {
+                units.add(() -> write(o, null, mapper, style.swagger));
+            }
+        }
+        try {
+            units.parallelStream().forEach(Runnable::run);
+        } catch(UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void write(OutputTarget output, String module, ObjectMapper mapper, Swagger swagger) {
+        String name = module == null ? output.getName() : output.getName() + "-" + module;
+        long start = phaseStarted(GenerationListener.Phase.SERIALIZATION, name);
+        GenerationEvents.Scope event = GenerationEvents.begin("serialization", module, output.getName());
+        try(Writer writer = output.open(module)) {
+            mapper.writeValue(writer, swagger);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            event.end();
+        }
+        phaseFinished(GenerationListener.Phase.SERIALIZATION, name, start);
+    }
+
+    private long phaseStarted(GenerationListener.Phase phase, String name) {
+        if(listener == null) return 0;
+        listener.phaseStarted(phase, name);
+        return System.nanoTime();
+    }
+
+    private void phaseFinished(GenerationListener.Phase phase, String name, long start) {
+        if(listener == null) return;
+        listener.phaseFinished(phase, name, System.nanoTime() - start);
+    }
+
+    /**
+     * Swagger with paths of a single module and definitions referenced from them
+     */
+    private Swagger moduleSwagger(Swagger style, String module, List<String> paths) {
+        Swagger swagger = new Swagger()
+                .info(new Info()
+                        .version(target.getInfo().getVersion())
+                        .description(module + " API generated from yang definitions")
+                        .title(module + " API"))
+                .host(target.getHost())
+                .basePath(target.getBasePath());
+        swagger.setConsumes(target.getConsumes());
+        swagger.setProduces(target.getProduces());
+
+        ReferencedDefinitions definitions = new ReferencedDefinitions(target.getDefinitions());
+        paths.forEach(p -> {
+            Path path = style.getPaths().get(p);
+            swagger.path(p, path);
+            definitions.path(path);
+            if(style.getParameters() != null) {
+                path.getOperations().stream().flatMap(o -> o.getParameters().stream())
+                        .filter(param -> param instanceof RefParameter)
+                        .map(param -> ((RefParameter) param).getSimpleRef())
+                        .forEach(ref -> swagger.parameter(ref, style.getParameter(ref)));
+            }
+            if(style.getResponses() != null) {
+                path.getOperations().stream().flatMap(o -> o.getResponses().values().stream())
+                        .filter(response -> response instanceof RefResponse)
+                        .map(response -> ((RefResponse) response).getSimpleRef())
+                        .forEach(ref -> swagger.response(ref, style.getResponses().get(ref)));
+            }
+        });
+        swagger.setDefinitions(definitions.get());
+        return swagger;
+    }
+
+    private void generate(Collection<PathStyle> styles, boolean trackModules) {
 
         ArrayList<String> mNames = new ArrayList<>();
 
         if(ctx.getModules().isEmpty() || modules.isEmpty()) {
             log.info("No modules found to be transformed into swagger definition");
-            return target;
+            return;
         }
 
         log.info("Generating swagger for yang modules: {}",
                 modules.stream().map(ModuleIdentifier::getName).collect(Collectors.joining(",","[", "]")));
 
+        final long start = listener == null ? 0 : System.nanoTime();
+        final DataObjectBuilder dataObjectsBuilder = dataObjectsBuilder();
         modules.forEach(m -> {
             mNames.add(m.getName());
-            dataObjectsBuilder.processModule(m);
-
+            long phase = phaseStarted(GenerationListener.Phase.PROCESS_MODULE, m.getName());
+            GenerationEvents.Scope event = GenerationEvents.begin("processModule", m.getName(), null);
+            try {
+                dataObjectsBuilder.processModule(m);
+            } finally {
+                event.end();
+            }
+            phaseFinished(GenerationListener.Phase.PROCESS_MODULE, m.getName(), phase);
         });
-        //initialize plugable path handler
-        pathHandlerBuilder.configure(ctx, target, dataObjectsBuilder);
+        //initialize plugable path handlers, only the first one adds models
+        DataObjectBuilder shared = new SharedModels(dataObjectsBuilder);
+        styles.forEach(s -> s.builder.configure(ctx, s.swagger, s.swagger == target ? dataObjectsBuilder : shared));
+        if(parallel && !(dataObjectsBuilder instanceof OptimizingDataObjectBuilder)) {
+            log.warn("Parallel model building is supported for optimizing strategies only, models are built sequentially");
+        }
 
-        modules.forEach(m -> new ModuleGenerator(m).generate());
+        modules.forEach(m -> {
+            long phase = phaseStarted(GenerationListener.Phase.PATHS, m.getName());
+            GenerationEvents.Scope event = GenerationEvents.begin("paths", m.getName(), null);
+            try {
+                new ModuleGenerator(m, styles).generate();
+            } finally {
+                event.end();
+            }
+            phaseFinished(GenerationListener.Phase.PATHS, m.getName(), phase);
+            if(trackModules) styles.forEach(s -> s.moduleDone(m.getName()));
+        });
 
         // update info with module names
         String modules = mNames.stream().collect(Collectors.joining(","));
@@ -299,12 +602,24 @@ public class SwaggerGenerator {
                 .description(modules + " API generated from yang definitions")
                 .title(modules + " API");
 
-        postProcessSwagger(target);
-
-        return target;
+        if(styles.size() == 1) {
+            postProcessSwagger(target);
+        } else {
+            //postprocessors see paths of all styles
+            Swagger all = new Swagger().info(target.getInfo());
+            all.setDefinitions(target.getDefinitions());
+            int idx = 0;
+            for(PathStyle s : styles) {
+                final String prefix = "[" + idx++ + "]";
+                if(s.swagger.getPaths() != null) s.swagger.getPaths().forEach((k, v) -> all.path(prefix + k, v));
+            }
+            postProcessSwagger(all);
+        }
+        if(listener != null) listener.generated(target, System.nanoTime() - start);
     }
 
     /**
+     * Merge equivalent definitions for {@link Strategy#deduplicating}.
      * Replace empty definitions with their parents.
      * Sort models (ref models first)
      * @param target to work on
@@ -314,49 +629,185 @@ public class SwaggerGenerator {
             log.warn("Generated swagger has no definitions");
             return;
         }
-        postprocessor.accept(target);
+        List<Consumer<Swagger>> all = new ArrayList<>();
+        if(strategy == Strategy.deduplicating) all.add(new MergeEquivalentDefinitions(ignoreDescriptions));
+        //default postprocessors
+        all.add(new ReplaceEmptyWithParent());
+        all.add(new SortDefinitions());
+        all.addAll(postprocessors);
+        if(compaction != null) all.add(compaction);
+        for(Consumer<Swagger> postprocessor : all) {
+            String name = postprocessor.getClass().getSimpleName();
+            long start = phaseStarted(GenerationListener.Phase.POSTPROCESSOR, name);
+            GenerationEvents.Scope event = GenerationEvents.begin("postprocessor", null, name);
+            try {
+                postprocessor.accept(target);
+            } finally {
+                event.end();
+            }
+            phaseFinished(GenerationListener.Phase.POSTPROCESSOR, name, start);
+        }
+    }
+
+    /**
+     * View of a builder for additional path styles. The models are added by handlers of the first style
+     * for the same nodes, so the view does not add them again.
+     */
+    private static class SharedModels implements DataObjectBuilder {
+        private final DataObjectBuilder delegate;
+
+        private SharedModels(DataObjectBuilder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <T extends SchemaNode & DataNodeContainer> io.swagger.models.Model build(T node) {
+            return delegate.build(node);
+        }
+
+        @Override
+        public void processModule(Module module) {}
+
+        @Override
+        public <T extends SchemaNode & DataNodeContainer> void addModel(T node) {}
+
+        @Override
+        public String addModel(EnumTypeDefinition enumType) {
+            return delegate.addModel(enumType);
+        }
+
+        @Override
+        public <T extends SchemaNode & DataNodeContainer> void addModel(T input, String parentTag) {}
+
+        @Override
+        public <T extends SchemaNode & DataNodeContainer> String getDefinitionId(T node) {
+            return delegate.getDefinitionId(node);
+        }
+
+        @Override
+        public <T extends SchemaNode & DataNodeContainer> String getName(T node) {
+            return delegate.getName(node);
+        }
     }
 
+    /**
+     * Paths generated with a single {@link PathHandlerBuilder}
+     */
+    private static class PathStyle {
+        private final PathHandlerBuilder builder;
+        private final Swagger swagger;
+        private final Map<String, List<String>> modulePaths = new LinkedHashMap<>();
+        private int known = 0;
+
+        private PathStyle(PathHandlerBuilder builder, Swagger swagger) {
+            this.builder = builder;
+            this.swagger = swagger;
+        }
+
+        private Map<String, Path> getPaths() {
+            return swagger.getPaths() == null ? Collections.emptyMap() : swagger.getPaths();
+        }
+
+        /**
+         * assign paths added since the previous call to the module
+         */
+        private void moduleDone(String module) {
+            List<String> added = getPaths().keySet().stream().skip(known).collect(Collectors.toList());
+            known += added.size();
+            modulePaths.put(module, added);
+        }
+    }
+
+    /**
+     * Unit of work of {@link ModuleGenerator}. Enter visits carry the parent path segment,
+     * exit visits the segment of the node whose subtree has been processed.
+     */
+    private static class Visit {
+        private final DataSchemaNode node;
+        private final PathSegment segment;
+        private final int depth;
+        private final boolean exit;
+        private long start;
+        private int models;
+        private int paths;
+
+        private Visit(DataSchemaNode node, PathSegment segment, int depth, boolean exit) {
+            this.node = node;
+            this.segment = segment;
+            this.depth = depth;
+            this.exit = exit;
+        }
+    }
+
+    /**
+     * Walks data nodes of a module with an explicit stack, so model depth is not limited by thread stack size.
+     * Each visit carries its own path context. Nodes are visited in the same order as in depth-first recursion:
+     * paths are generated on enter and models are added on exit.
+     */
     private class ModuleGenerator {
         private final Module module;
-        private PathSegment pathCtx;
-        private PathHandler handler;
-
-        private ModuleGenerator(Module module) {
+        private final List<PathHandler> handlers;
+        private final Collection<PathStyle> styles;
+        private final Deque<Visit> stack = new ArrayDeque<>();
+        private final OptimizingDataObjectBuilder forkable;
+        private final List<List<DataSchemaNode>> subtrees = new ArrayList<>();
+        private PathSegment dataRoot;
+
+        private ModuleGenerator(Module module, Collection<PathStyle> styles) {
             if(module == null) throw new NullPointerException("module is null");
             this.module = module;
-            handler = pathHandlerBuilder.forModule(module);
-
-
+            this.styles = styles;
+            handlers = styles.stream().map(s -> s.builder.forModule(module)).collect(Collectors.toList());
+            forkable = parallel && dataObjectsBuilder instanceof OptimizingDataObjectBuilder ?
+                    (OptimizingDataObjectBuilder) dataObjectsBuilder : null;
         }
 
         void generate() {
             if(toGenerate.contains(Elements.DATA)) {
-                pathCtx = new PathSegment(ctx)
+                dataRoot = new PathSegment(index)
                         .withModule(module.getName());
-                module.getChildNodes().forEach(n -> generate(n, maxDepth));
+                enter(module.getChildNodes(), dataRoot, maxDepth);
+                while(!stack.isEmpty()) {
+                    Visit visit = stack.pop();
+                    if(visit.exit) {
+                        exit(visit);
+                    } else {
+                        enter(visit);
+                    }
+                }
+                if(forkable != null) buildSubtrees();
             }
 
             if(toGenerate.contains(Elements.RCP)) {
-                pathCtx = new PathSegment(ctx)
+                final PathSegment root = new PathSegment(index)
                         .withModule(module.getName());
-                module.getRpcs().forEach(this::generate);
+                module.getRpcs().forEach(r -> generate(r, root));
             }
         }
 
-        private void generate(RpcDefinition rcp) {
-            pathCtx = new PathSegment(pathCtx)
+        private void generate(RpcDefinition rcp, PathSegment parent) {
+            final PathSegment pathCtx = new PathSegment(parent)
                         .withName(rcp.getQName().getLocalName())
                         .withModule(module.getName());
 
             ContainerSchemaNode input = rcp.getInput();
             ContainerSchemaNode output = rcp.getOutput();
-            handler.path(input, output, pathCtx);
+            handlers.forEach(h -> h.path(input, output, pathCtx));
+        }
 
-            pathCtx = pathCtx.drop();
+        /**
+         * schedule nodes to be visited in the iteration order
+         */
+        private void enter(Collection<? extends DataSchemaNode> nodes, PathSegment parent, int depth) {
+            List<? extends DataSchemaNode> ordered = new ArrayList<>(nodes);
+            for(int i = ordered.size() - 1; i >= 0; i--) {
+                stack.push(new Visit(ordered.get(i), parent, depth, false));
+            }
         }
 
-        private void generate(DataSchemaNode node, final int depth) {
+        private void enter(Visit visit) {
+            final DataSchemaNode node = visit.node;
+            final int depth = visit.depth;
         	if(depth == 0) {
         		log.debug("Maxmium depth level reached, skipping {} and it's childs", node.getPath());
         		return;
@@ -371,37 +822,87 @@ public class SwaggerGenerator {
                 log.info("processing container statement {}", node.getQName().getLocalName() );
                 final ContainerSchemaNode cN = (ContainerSchemaNode) node;
 
-                pathCtx = new PathSegment(pathCtx)
+                final PathSegment pathCtx = new PathSegment(visit.segment)
                         .withName(cN.getQName().getLocalName())
                         .withModule(module.getName())
                         .asReadOnly(!cN.isConfiguration());
 
-                handler.path(cN, pathCtx);
-                cN.getChildNodes().forEach(n -> generate(n, depth-1));
-                dataObjectsBuilder.addModel(cN);
-
-                pathCtx = pathCtx.drop();
+                if(forkable != null && visit.segment == dataRoot) subtrees.add(new ArrayList<>());
+                stack.push(exitVisit(cN, pathCtx));
+                handlers.forEach(h -> h.path(cN, pathCtx));
+                enter(cN.getChildNodes(), pathCtx, depth - 1);
             } else if(node instanceof ListSchemaNode) {
                 log.info("processing list statement {}", node.getQName().getLocalName() );
                 final ListSchemaNode lN = (ListSchemaNode) node;
 
-                pathCtx = new PathSegment(pathCtx)
+                final PathSegment pathCtx = new PathSegment(visit.segment)
                         .withName(lN.getQName().getLocalName())
                         .withModule(module.getName())
                         .asReadOnly(!lN.isConfiguration())
                         .withListNode(lN);
 
-                handler.path(lN, pathCtx);
-                lN.getChildNodes().forEach(n -> generate(n, depth-1));
-                dataObjectsBuilder.addModel(lN);
-
-                pathCtx = pathCtx.drop();
+                if(forkable != null && visit.segment == dataRoot) subtrees.add(new ArrayList<>());
+                stack.push(exitVisit(lN, pathCtx));
+                handlers.forEach(h -> h.path(lN, pathCtx));
+                enter(lN.getChildNodes(), pathCtx, depth - 1);
             } else if (node instanceof ChoiceSchemaNode) {
                 //choice node and cases are invisible from the perspective of generating path
                 log.info("inlining choice statement {}", node.getQName().getLocalName() );
-                ((ChoiceSchemaNode) node).getCases().stream()
-                        .flatMap(_case -> _case.getChildNodes().stream()).forEach(n -> generate(n, depth-1));
+                enter(((ChoiceSchemaNode) node).getCases().stream()
+                        .flatMap(_case -> _case.getChildNodes().stream()).collect(Collectors.toList()),
+                        visit.segment, depth - 1);
+            }
+        }
+
+        private Visit exitVisit(DataSchemaNode node, PathSegment pathCtx) {
+            Visit exit = new Visit(node, pathCtx, 0, true);
+            if(listener != null) {
+                exit.start = System.nanoTime();
+                exit.models = models();
+                exit.paths = paths();
+            }
+            return exit;
+        }
+
+        private void exit(Visit visit) {
+            if(forkable != null) {
+                //models are built once the whole subtree is known
+                subtrees.get(subtrees.size() - 1).add(visit.node);
+            } else {
+                addModel(dataObjectsBuilder, visit.node);
+            }
+            if(listener != null) listener.nodeVisited(module.getName(), visit.node,
+                    System.nanoTime() - visit.start, models() - visit.models, paths() - visit.paths);
+        }
+
+        private void addModel(DataObjectBuilder builder, DataSchemaNode node) {
+            if(node instanceof ContainerSchemaNode) {
+                builder.addModel((ContainerSchemaNode) node);
+            } else {
+                builder.addModel((ListSchemaNode) node);
             }
         }
+
+        /**
+         * Build models of top-level subtrees concurrently, each with its own fork of the builder.
+         * Definitions are published in the traversal order, so the result does not depend on scheduling.
+         */
+        private void buildSubtrees() {
+            List<OptimizingDataObjectBuilder> forks = subtrees.parallelStream().map(nodes -> {
+                OptimizingDataObjectBuilder builder = forkable.fork(new Swagger(), new AnnotatingTypeConverter(index));
+                nodes.forEach(n -> addModel(builder, n));
+                return builder;
+            }).collect(Collectors.toList());
+            forks.forEach(forkable::join);
+            subtrees.clear();
+        }
+
+        private int models() {
+            return target.getDefinitions() == null ? 0 : target.getDefinitions().size();
+        }
+
+        private int paths() {
+            return styles.stream().mapToInt(s -> s.getPaths().size()).sum();
+        }
     }
 }
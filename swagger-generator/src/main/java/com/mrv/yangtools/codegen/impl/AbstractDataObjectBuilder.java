@@ -12,6 +12,8 @@
 package com.mrv.yangtools.codegen.impl;
 
 import com.mrv.yangtools.codegen.DataObjectBuilder;
+import com.mrv.yangtools.common.jfr.GenerationEvents;
+import io.swagger.models.ComposedModel;
 import io.swagger.models.Model;
 import io.swagger.models.ModelImpl;
 import io.swagger.models.Swagger;
@@ -19,6 +21,7 @@ import io.swagger.models.properties.AbstractProperty;
 import io.swagger.models.properties.ArrayProperty;
 import io.swagger.models.properties.ObjectProperty;
 import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.*;
 import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
@@ -26,11 +29,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import static com.mrv.yangtools.common.BindingMapping.getClassName;
 import static com.mrv.yangtools.common.BindingMapping.nameToPackageSegment;
@@ -47,10 +50,17 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
     protected final Swagger swagger;
     protected final TypeConverter converter;
     protected final SchemaContext ctx;
+    protected final SchemaContextIndex index;
     protected final ModuleUtils moduleUtils;
-    protected final Map<SchemaNode, String> names;
-    private final HashMap<QName, String> generatedEnums;
+    protected final NameRegistry names;
+    private static final String PENDING_PREFIX = "~pending-enum-";
+    private final Enums enums;
+    /** enumerations first used by a fork, by placeholder definition names, <code>null</code> for builders that are not forks */
+    private final LinkedHashMap<String, EnumTypeDefinition> pendingEnums;
+    private final HashMap<QName, String> pendingNames;
     private final HashMap<DataNodeContainer, String> orgNames;
+    /** package segments for data tree paths, each path extends the package of its parent */
+    private final HashMap<SchemaPath, String> packages;
 
     protected final static Function<DataNodeContainer, Set<AugmentationSchema>> augmentations = node -> {
         if(node instanceof AugmentationTarget) {
@@ -62,19 +72,54 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
 
     protected final static Predicate<DataNodeContainer> isAugmented = n -> !augmentations.apply(n).isEmpty();
 
-    protected final Predicate<DataNodeContainer> isTreeAugmented = n ->  n != null && (isAugmented.test(n) || n.getChildNodes().stream()
-            .filter(c -> c instanceof DataNodeContainer)
-            .anyMatch(c -> this.isTreeAugmented.test((DataNodeContainer) c)));
+    protected final static Predicate<DataSchemaNode> any = n -> true;
+
+    protected final Predicate<DataNodeContainer> isTreeAugmented;
 
     public AbstractDataObjectBuilder(SchemaContext ctx, Swagger swagger, TypeConverter converter) {
-        this.names = new HashMap<>();
+        this(new SchemaContextIndex(ctx), swagger, converter);
+    }
+
+    public AbstractDataObjectBuilder(SchemaContextIndex index, Swagger swagger, TypeConverter converter) {
+        this.names = new NameRegistry();
         this.converter = converter;
         converter.setDataObjectBuilder(this);
         this.swagger = swagger;
-        this.ctx = ctx;
-        this.moduleUtils = new ModuleUtils(ctx);
-        this.generatedEnums = new HashMap<>();
+        this.index = index;
+        this.ctx = index.getContext();
+        this.moduleUtils = index.getModuleUtils();
+        this.isTreeAugmented = index::isTreeAugmented;
+        this.enums = new Enums();
+        this.pendingEnums = null;
+        this.pendingNames = null;
         this.orgNames = new HashMap<>();
+        this.packages = new HashMap<>();
+    }
+
+    /**
+     * Builder that shares names computed by the parent. Names of all modules have to be processed by the parent.
+     * Enumerations not yet known to the parent are defined under placeholder names unique among all forks and named once
+     * the fork is merged with {@link #merge(AbstractDataObjectBuilder)}, so the names do not depend on the order forks run in.
+     * @param parent builder
+     * @param swagger for which models are built
+     * @param converter type converter for the builder
+     */
+    protected AbstractDataObjectBuilder(AbstractDataObjectBuilder parent, Swagger swagger, TypeConverter converter) {
+        this.names = parent.names;
+        this.converter = converter;
+        converter.setDataObjectBuilder(this);
+        this.swagger = swagger;
+        this.index = parent.index;
+        this.ctx = parent.ctx;
+        this.moduleUtils = parent.moduleUtils;
+        this.isTreeAugmented = parent.isTreeAugmented;
+        //definitions are merged in the order they were added
+        if(swagger.getDefinitions() == null) swagger.setDefinitions(new LinkedHashMap<>());
+        this.enums = parent.enums;
+        this.pendingEnums = new LinkedHashMap<>();
+        this.pendingNames = new HashMap<>();
+        this.orgNames = parent.orgNames;
+        this.packages = new HashMap<>();
     }
 
     /**
@@ -93,7 +138,7 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
      */
     @Override
     public void processModule(Module module) {
-        HashSet<String> cache = new HashSet<>(names.values());
+        Set<String> cache = names.used();
         log.debug("processing data nodes defined in {}", module.getName());
         processNode(module, cache);
 
@@ -175,16 +220,29 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
         }
 
         String name = getClassName(node.getQName());
-        final Iterable<QName> path = node.getPath().getParent().getPathFromRoot();
-        if(path == null || !path.iterator().hasNext()) {
+        final SchemaPath path = node.getPath().getParent();
+        if(path == null || path.getLastComponent() == null) {
             log.debug("generatedName: {}", modulePrefix + "." + name);
             return modulePrefix + "." + name;
         }
-        String pkg = StreamSupport.stream(path.spliterator(), false).map(n -> getClassName(n.getLocalName()).toLowerCase()).collect(Collectors.joining("."));
+        String pkg = packageName(path);
         log.debug("generatedName: {}", modulePrefix + "." + pkg + "." + name);
         return modulePrefix + "." + pkg + "." + name;
     }
 
+    private String packageName(SchemaPath path) {
+        String pkg = packages.get(path);
+        if(pkg == null) {
+            pkg = getClassName(path.getLastComponent().getLocalName()).toLowerCase();
+            SchemaPath parent = path.getParent();
+            if(parent != null && parent.getLastComponent() != null) {
+                pkg = packageName(parent) + "." + pkg;
+            }
+            packages.put(path, pkg);
+        }
+        return pkg;
+    }
+
     /**
      * Convert leaf-list to swagger property
      * @param llN leaf-list
@@ -209,38 +267,51 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
 
 
     protected Map<String, Property> structure(DataNodeContainer node) {
-        return structure(node,  x -> true, x -> true);
+        return structure(node, any, any);
     }
 
 
+    /**
+     * Properties of the node in a single pass over its children. Properties are ordered as the children are,
+     * properties of choice cases follow. Children without a Swagger representation (e.g. anyxml) are skipped.
+     * @param node to get properties for
+     * @param acceptNode filter for child nodes other than choices
+     * @param acceptChoice filter for choices
+     * @return properties
+     */
     protected Map<String, Property> structure(DataNodeContainer node, Predicate<DataSchemaNode> acceptNode, Predicate<DataSchemaNode> acceptChoice) {
-
-        Predicate<DataSchemaNode> choiceP = c -> c instanceof ChoiceSchemaNode;
+        final Collection<DataSchemaNode> children = node.getChildNodes();
+        final Map<String, Property> properties = new LinkedHashMap<>(children.size() * 4 / 3 + 1);
+        List<ChoiceSchemaNode> choices = null;
 
         // due to how inheritance is handled in yangtools the localName node collisions might appear
         // thus we need to apply collision strategy to override with the last attribute available
-        Map<String, Property> properties = node.getChildNodes().stream()
-                .filter(choiceP.negate().and(acceptNode)) // choices handled elsewhere
-                .map(this::prop).collect(Collectors.toMap(pair -> pair.name, pair -> pair.property, (oldV, newV) -> newV));
-
-        Map<String, Property> choiceProperties = node.getChildNodes().stream()
-                .filter(choiceP.and(acceptChoice)) // handling choices
-                .flatMap(c -> {
-                    ChoiceSchemaNode choice = (ChoiceSchemaNode) c;
-                    Stream<Pair> streamOfPairs = choice.getCases().stream()
-                            .flatMap(_case -> _case.getChildNodes().stream().map(sc -> {
-                                Pair prop = prop(sc);
-                                assignCaseMetadata(prop.property, choice, _case);
-                                return prop;
-                            }));
-                    return streamOfPairs;
-                }).collect(Collectors.toMap(pair -> pair.name, pair -> pair.property, (oldV, newV) -> newV));
-
-        HashMap<String, Property> result = new HashMap<>();
-
-        result.putAll(properties);
-        result.putAll(choiceProperties);
-        return result;
+        for(DataSchemaNode child : children) {
+            if(child instanceof ChoiceSchemaNode) {
+                if(acceptChoice.test(child)) {
+                    if(choices == null) choices = new ArrayList<>();
+                    choices.add((ChoiceSchemaNode) child);
+                }
+            } else if(acceptNode.test(child)) {
+                Pair prop = prop(child);
+                if(prop.property != null) properties.put(prop.name, prop.property);
+            }
+        }
+
+        if(choices == null) return properties;
+
+        // choice attributes take precedence, thus they are handled at the end
+        for(ChoiceSchemaNode choice : choices) {
+            for(ChoiceCaseNode _case : choice.getCases()) {
+                for(DataSchemaNode caseChild : _case.getChildNodes()) {
+                    Pair prop = prop(caseChild);
+                    if(prop.property == null) continue;
+                    assignCaseMetadata(prop.property, choice, _case);
+                    properties.put(prop.name, prop.property);
+                }
+            }
+        }
+        return properties;
     }
 
     protected Pair prop(DataSchemaNode node) {
@@ -309,14 +380,57 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
             model = wrapper;
         }
 
+        boolean overrides = false;
         if(swagger.getDefinitions() != null && swagger.getDefinitions().containsKey(modelName)) {
             if(model.equals(swagger.getDefinitions().get(modelName))) {
+                defined(modelName, swagger.getDefinitions().get(modelName));
                 return;
             }
             log.warn("Overriding model {} with node {}", modelName, node.getQName());
+            overrides = true;
         }
 
         swagger.addDefinition(modelName, model);
+        if(overrides) overridden(modelName);
+        defined(modelName, model);
+    }
+
+    /**
+     * Called when a definition has been replaced with a different model
+     * @param name of the definition
+     */
+    protected void overridden(String name) {
+    }
+
+    /**
+     * Called when a model is added to Swagger or when it would be added yet Swagger defines it already
+     * @param name of the definition
+     * @param model defined
+     */
+    protected void defined(String name, Model model) {
+    }
+
+    /**
+     * @return <code>true</code> if the builder is a fork that is merged into its parent
+     */
+    protected boolean isFork() {
+        return pendingEnums != null;
+    }
+
+    /**
+     * Add a definition built by another fork, as if this builder defined it
+     * @param name of the definition
+     * @param model defined
+     */
+    protected void replay(String name, Model model) {
+        if(name.startsWith(PENDING_PREFIX)) {
+            EnumTypeDefinition enumType = enums.pending.get(name);
+            pendingEnums.putIfAbsent(name, enumType);
+            pendingNames.putIfAbsent(enumName(enumType), name);
+        }
+        if(!swagger.getDefinitions().containsKey(name)) {
+            swagger.addDefinition(name, model);
+        }
     }
 
     @Override
@@ -324,55 +438,218 @@ public abstract class AbstractDataObjectBuilder implements DataObjectBuilder {
         addModel(node, null);
     }
 
+    /**
+     * Share a single definition between enumerations with the same ordered list of values.
+     * Enumerations are still distinguished by their names unless interning is enabled.
+     * @param naming hint for the name of the shared definition based on the values.
+     *               If it is <code>null</code> or returns <code>null</code> the name of the first enumeration with these values is used
+     */
+    public void internEnums(Function<List<String>, String> naming) {
+        enums.interned = new HashMap<>();
+        enums.naming = naming == null ? values -> null : naming;
+    }
+
     @Override
     public String addModel(EnumTypeDefinition enumType) {
+        QName qName = enumName(enumType);
+        List<String> values = enums.interned == null ? null : values(enumType);
+
+        String ref = known(qName, values);
+        if(ref != null) {
+            log.debug("reusing enum model {} for {}", ref, qName);
+            return ref;
+        }
+        if(pendingEnums != null) {
+            String name = pendingNames.get(qName);
+            if(name == null) {
+                name = PENDING_PREFIX + enums.placeholders.getAndIncrement();
+                pendingNames.put(qName, name);
+                pendingEnums.put(name, enumType);
+                enums.pending.put(name, enumType);
+                swagger.addDefinition(name, build(enumType, qName));
+            }
+            defined(name, swagger.getDefinitions().get(name));
+            return DEF_PREFIX + name;
+        }
+        log.debug("generating enum model for {}",  qName);
+        ModelImpl enumModel = build(enumType, qName);
+        String name = register(qName, values, enumModel);
+        swagger.addDefinition(name, enumModel);
+        return DEF_PREFIX + name;
+    }
+
+    /**
+     * Move definitions built by a fork to the Swagger of this builder, preserving their order.
+     * Enumerations first used by the fork are named here, thus forks have to be merged in the same order as
+     * their subtrees would be processed sequentially. Each definition is passed to {@link #joined(Model)} once
+     * the definitions preceding it are merged.
+     * @param fork to merge
+     * @throws IllegalStateException if the fork built a definition with the same name yet different content as defined already
+     */
+    protected void merge(AbstractDataObjectBuilder fork) {
+        Map<String, Model> definitions = fork.swagger.getDefinitions();
+        if(definitions == null) return;
+
+        Map<String, String> refs = new HashMap<>();
+        Map<String, String> created = new HashMap<>();
+        fork.pendingEnums.forEach((placeholder, enumType) -> {
+            QName qName = enumName(enumType);
+            List<String> values = enums.interned == null ? null : values(enumType);
+            String ref = known(qName, values);
+            if(ref == null) {
+                String name = register(qName, values, (ModelImpl) definitions.get(placeholder));
+                created.put(placeholder, name);
+                ref = DEF_PREFIX + name;
+            }
+            refs.put(DEF_PREFIX + placeholder, ref);
+        });
+
+        definitions.forEach((name, model) -> {
+            if(fork.pendingEnums.containsKey(name)) {
+                if(created.containsKey(name)) swagger.addDefinition(created.get(name), model);
+                return;
+            }
+            if(!refs.isEmpty()) replaceRefs(model, refs);
+            model = joined(model);
+            Model existing = swagger.getDefinitions() == null ? null : swagger.getDefinitions().get(name);
+            if(existing != null && !existing.equals(model)) {
+                throw new IllegalStateException("Definition " + name + " built differently in concurrently built subtrees");
+            }
+            swagger.addDefinition(name, model);
+        });
+    }
+
+    /**
+     * Complete a model built by a fork while it is merged
+     * @param model built by the fork
+     * @return model to be defined
+     */
+    protected Model joined(Model model) {
+        return model;
+    }
+
+    private static QName enumName(EnumTypeDefinition enumType) {
         QName qName = enumType.getQName();
-        
+
         //inline enumerations are a special case that needs extra enumeration
         if(qName.getLocalName().equals("enumeration") && enumType.getBaseType() == null) {
-        	qName = QName.create(qName, enumType.getPath().getParent().getLastComponent().getLocalName() + "-" + qName.getLocalName());
+            qName = QName.create(qName, enumType.getPath().getParent().getLastComponent().getLocalName() + "-" + qName.getLocalName());
         }
+        return qName;
+    }
 
-        if(! generatedEnums.containsKey(qName)) {
-            log.debug("generating enum model for {}",  qName);
-            String name = getName(qName);
-            ModelImpl enumModel = build(enumType, qName);
-            swagger.addDefinition(name, enumModel);
-            generatedEnums.put(qName, DEF_PREFIX + name);
-        } else {
-            log.debug("reusing enum model for {}", enumType.getQName());
+    /**
+     * @return reference to the definition of the enumeration or of an interned one with the same values, <code>null</code> if there is none yet
+     */
+    private String known(QName qName, List<String> values) {
+        String ref = enums.generated.get(qName);
+        if(ref != null || values == null) return ref;
+        ref = enums.interned.get(values);
+        //forks only read the shared registry
+        if(ref != null && pendingEnums == null) enums.generated.put(qName, ref);
+        return ref;
+    }
+
+    /**
+     * Name a new enumeration definition
+     * @return name of the definition
+     */
+    private String register(QName qName, List<String> values, ModelImpl enumModel) {
+        String name = values == null ? null : enums.naming.apply(values);
+        name = name == null ? getName(qName) : unique(name);
+        enumModel.setReference(name);
+        enums.generated.put(qName, DEF_PREFIX + name);
+        enums.defined.add(DEF_PREFIX + name);
+        if(values != null) enums.interned.put(values, DEF_PREFIX + name);
+        return name;
+    }
+
+    private static void replaceRefs(Model model, Map<String, String> refs) {
+        if(model instanceof ComposedModel) {
+            ((ComposedModel) model).getAllOf().forEach(m -> replaceRefs(m, refs));
+        } else if(model.getProperties() != null) {
+            model.getProperties().values().forEach(p -> replaceRefs(p, refs));
+        }
+    }
+
+    private static void replaceRefs(Property property, Map<String, String> refs) {
+        if(property instanceof RefProperty) {
+            RefProperty ref = (RefProperty) property;
+            String replacement = refs.get(ref.get$ref());
+            if(replacement != null) ref.set$ref(replacement);
+        } else if(property instanceof ArrayProperty) {
+            replaceRefs(((ArrayProperty) property).getItems(), refs);
+        } else if(property instanceof ObjectProperty && ((ObjectProperty) property).getProperties() != null) {
+            ((ObjectProperty) property).getProperties().values().forEach(p -> replaceRefs(p, refs));
         }
-        return generatedEnums.get(qName);
     }
 
     protected ModelImpl build(EnumTypeDefinition enumType, QName qName) {
         ModelImpl model = new ModelImpl();
-        model.setEnum(enumType.getValues().stream()
-                .map(EnumTypeDefinition.EnumPair::getName).collect(Collectors.toList()));
+        model.setEnum(values(enumType));
         model.setType("string");
         model.setReference(getName(qName));
         return model;
     }
 
+    private static List<String> values(EnumTypeDefinition enumType) {
+        return enumType.getValues().stream()
+                .map(EnumTypeDefinition.EnumPair::getName).collect(Collectors.toList());
+    }
+
     protected String getName(QName qname) {
         String modulePrefix =  nameToPackageSegment(moduleUtils.toModuleName(qname));
-        String name = modulePrefix + "." + getClassName(qname);
+        return unique(modulePrefix + "." + getClassName(qname));
+    }
 
+    private String unique(String name) {
         String candidate = name;
 
         int idx = 1;
-        while(generatedEnums.values().contains(DEF_PREFIX + candidate)) {
-            log.warn("Name {} already defined for enum. generating random postfix", candidate);
-            candidate = name + idx;
+        while(taken(candidate)) {
+            log.warn("Name {} already defined. generating random postfix", candidate);
+            candidate = name + idx++;
         }
         return candidate;
     }
 
+    /**
+     * @return <code>true</code> if the name is used by an enumeration, assigned to a schema node or defined in Swagger
+     */
+    private boolean taken(String name) {
+        return enums.defined.contains(DEF_PREFIX + name) || names.isUsed(name)
+                || (swagger.getDefinitions() != null && swagger.getDefinitions().containsKey(name));
+    }
+
+    /**
+     * Start flight recorder event for the node
+     * @param operation name
+     * @param node processed
+     * @return event scope
+     */
+    protected GenerationEvents.Scope event(String operation, SchemaNode node) {
+        if(!GenerationEvents.enabled()) return GenerationEvents.NONE;
+        return GenerationEvents.begin(operation, moduleUtils.toModuleName(node), node.getQName().getLocalName());
+    }
+
     protected String desc(DocumentedNode node) {
         return  node.getReference() == null ? node.getDescription() :
                 node.getDescription() + " REF:" + node.getReference();
     }
 
+    /**
+     * Enumeration definitions shared by a builder and its forks. Forks only read it, it is updated by the builder.
+     * Placeholders of enumerations pending in forks are registered concurrently.
+     */
+    private static class Enums {
+        private final HashMap<QName, String> generated = new HashMap<>();
+        private final HashSet<String> defined = new HashSet<>();
+        private HashMap<List<String>, String> interned;
+        private Function<List<String>, String> naming;
+        private final AtomicInteger placeholders = new AtomicInteger();
+        private final ConcurrentHashMap<String, EnumTypeDefinition> pending = new ConcurrentHashMap<>();
+    }
+
     protected static class Pair {
         final protected String name;
         final protected Property property;
@@ -14,7 +14,6 @@ package com.mrv.yangtools.codegen.impl;
 import io.swagger.models.properties.AbstractProperty;
 import io.swagger.models.properties.Property;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
-import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
 
@@ -24,13 +23,18 @@ import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
  * @author bartosz.michalik@amartus.com
  */
 public class AnnotatingTypeConverter extends TypeConverter {
+
     public AnnotatingTypeConverter(SchemaContext ctx) {
         super(ctx);
     }
 
+    public AnnotatingTypeConverter(SchemaContextIndex index) {
+        super(index);
+    }
+
     @Override
-    public Property convert(TypeDefinition<?> type, SchemaNode parent) {
-        Property prop = super.convert(type, parent);
+    protected Property template(TypeDefinition<?> type, TypeDefinition<?> target) {
+        Property prop = super.template(type, target);
 
         if(prop instanceof AbstractProperty) {
             if(type instanceof LeafrefTypeDefinition) {
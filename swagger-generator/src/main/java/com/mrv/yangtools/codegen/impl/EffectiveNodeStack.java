@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen.impl;
+
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+
+import java.util.*;
+
+/**
+ * Stack of effective nodes for the models being built.
+ * Frames are indexed by their names and by the names of their container and list children,
+ * so that lookups do not depend on the depth of the stack. The most recent frame shadows the older ones.
+ * @author bartosz.michalik@amartus.com
+ */
+class EffectiveNodeStack {
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final Map<QName, Deque<Frame>> byName = new HashMap<>();
+    private final Map<QName, Deque<Frame>> byChild = new HashMap<>();
+
+    private static class Frame {
+        private final DataNodeContainer node;
+        private final QName name;
+        private final List<QName> children = new ArrayList<>();
+
+        private Frame(DataNodeContainer node) {
+            this.node = node;
+            this.name = node instanceof SchemaNode ? ((SchemaNode) node).getQName() : null;
+        }
+    }
+
+    boolean isEmpty() {
+        return frames.isEmpty();
+    }
+
+    /**
+     * @return most recent node or <code>null</code> if stack is empty
+     */
+    DataNodeContainer peek() {
+        Frame top = frames.peekFirst();
+        return top == null ? null : top.node;
+    }
+
+    void push(DataNodeContainer node) {
+        Frame frame = new Frame(node);
+        frames.addFirst(frame);
+        if(frame.name != null) {
+            byName.computeIfAbsent(frame.name, k -> new ArrayDeque<>()).addFirst(frame);
+        }
+        for(DataSchemaNode child : node.getChildNodes()) {
+            if(child instanceof DataNodeContainer) {
+                frame.children.add(child.getQName());
+                byChild.computeIfAbsent(child.getQName(), k -> new ArrayDeque<>()).addFirst(frame);
+            }
+        }
+    }
+
+    /**
+     * @param name of the node
+     * @return most recent node with a given name or <code>null</code>
+     */
+    DataNodeContainer find(QName name) {
+        Deque<Frame> named = byName.get(name);
+        return named == null ? null : named.peekFirst().node;
+    }
+
+    /**
+     * @param name of the child
+     * @return container or list child with a given name of the most recent node that has one or <code>null</code>
+     */
+    DataSchemaNode child(QName name) {
+        Deque<Frame> parents = byChild.get(name);
+        return parents == null ? null : parents.peekFirst().node.getDataChildByName(name);
+    }
+
+    /**
+     * Remove most recent node with a given name, typically the top of the stack.
+     * @param name of the node
+     */
+    void remove(QName name) {
+        Deque<Frame> named = byName.get(name);
+        if(named == null) return;
+        Frame frame = named.peekFirst();
+        frames.removeFirstOccurrence(frame);
+        remove(byName, name, frame);
+        frame.children.forEach(c -> remove(byChild, c, frame));
+    }
+
+    private static void remove(Map<QName, Deque<Frame>> index, QName name, Frame frame) {
+        Deque<Frame> indexed = index.get(name);
+        indexed.removeFirstOccurrence(frame);
+        if(indexed.isEmpty()) index.remove(name);
+    }
+}
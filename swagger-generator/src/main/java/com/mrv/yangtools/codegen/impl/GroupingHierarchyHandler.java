@@ -35,8 +35,12 @@ public class GroupingHierarchyHandler {
     private final ModuleUtils moduleUtils;
 
     public GroupingHierarchyHandler(SchemaContext ctx) {
+        this(ctx, new ModuleUtils(ctx));
+    }
+
+    GroupingHierarchyHandler(SchemaContext ctx, ModuleUtils moduleUtils) {
         this.ctx = ctx;
-        moduleUtils = new ModuleUtils(ctx);
+        this.moduleUtils = moduleUtils;
         groupingNames = computeNames();
         hierarchy = buildHierarchy();
     }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen.impl;
+
+import com.google.common.collect.MapMaker;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content based fingerprint of YANG modules.
+ * The parser does not keep module sources, so the fingerprint is computed from the declared statements of a module
+ * (and its submodules). It does not change with formatting or comments of the YANG file.
+ * Modules without declared statements get a token unique to the module instance, so they are never considered equivalent
+ * to any other module.
+ * @author bartosz.michalik@amartus.com
+ */
+public class ModuleFingerprint {
+    //weak keys are compared by identity
+    private static final ConcurrentMap<Module, String> identities = new MapMaker().weakKeys().makeMap();
+    private static final AtomicLong instances = new AtomicLong();
+    private final MessageDigest digest;
+
+    public ModuleFingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+
+    /**
+     * @param module to fingerprint
+     * @return hex encoded fingerprint of a single module
+     */
+    public static String of(Module module) {
+        return new ModuleFingerprint().add(module).hex();
+    }
+
+    /**
+     * Add module and its submodules to fingerprint
+     * @param module to add
+     * @return this
+     */
+    public ModuleFingerprint add(Module module) {
+        Objects.requireNonNull(module);
+        add(module.getName());
+        add(module.getNamespace());
+        add(module.getRevision());
+        statements(module);
+        module.getSubmodules().stream()
+                .sorted(Comparator.comparing(Module::getName))
+                .forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Add arbitrary value to fingerprint
+     * @param value to add, might be null
+     * @return this
+     */
+    public ModuleFingerprint add(Object value) {
+        String str = String.valueOf(value);
+        digest.update(str.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        return this;
+    }
+
+    /**
+     * Finish computation. Fingerprint cannot be reused afterwards.
+     * @return hex encoded fingerprint
+     */
+    public String hex() {
+        StringBuilder sb = new StringBuilder();
+        for(byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private void statements(Module module) {
+        if(module instanceof EffectiveStatement) {
+            DeclaredStatement<?> declared = ((EffectiveStatement<?, ?>) module).getDeclared();
+            if(declared != null) {
+                statement(declared);
+                return;
+            }
+        }
+        add(identities.computeIfAbsent(module, m -> "instance:" + instances.incrementAndGet()));
+    }
+
+    private void statement(DeclaredStatement<?> stmt) {
+        add(stmt.statementDefinition().getStatementName());
+        add(stmt.rawArgument());
+        add(stmt.declaredSubstatements().size());
+        stmt.declaredSubstatements().forEach(this::statement);
+    }
+}
@@ -17,7 +17,9 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 
 import java.net.URI;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *
@@ -25,20 +27,31 @@ import java.util.Set;
  */
 public class ModuleUtils {
     private final SchemaContext ctx;
+    private final Map<URI, String> moduleNames;
 
     public ModuleUtils(SchemaContext ctx) {
         this.ctx = ctx;
+        this.moduleNames = new ConcurrentHashMap<>();
     }
     public String toModuleName(QName qname) {
-        Set<Module> modules = ctx.findModuleByNamespace(qname.getModule().getNamespace());
+        URI namespace = qname.getModule().getNamespace();
+        String name = moduleNames.get(namespace);
+        if(name != null) return name;
+        Set<Module> modules = ctx.findModuleByNamespace(namespace);
         if(modules.size() != 1) throw new IllegalStateException("no support for " + modules.size() + " modules with name " + qname);
-        return modules.iterator().next().getName();
+        name = modules.iterator().next().getName();
+        moduleNames.put(namespace, name);
+        return name;
     }
 
     public String toModuleName(URI uri) {
+        String name = moduleNames.get(uri);
+        if(name != null) return name;
         Set<Module> modules = ctx.findModuleByNamespace(uri);
         if(modules.size() != 1) throw new IllegalStateException("no support for " + modules.size() + " modules with uri " + uri);
-        return modules.iterator().next().getName();
+        name = modules.iterator().next().getName();
+        moduleNames.put(uri, name);
+        return name;
     }
 
     public String toModuleName(SchemaNode node) {
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen.impl;
+
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Names of definitions assigned to schema nodes during a single generation.
+ * Besides the assignments the registry counts nodes per name, so checking whether a name is taken
+ * does not depend on the number of names registered so far.
+ * @author bartosz.michalik@amartus.com
+ */
+public class NameRegistry {
+    private final Map<SchemaNode, String> names = new HashMap<>();
+    private final Map<String, Integer> used = new HashMap<>();
+    private final Set<String> usedView = Collections.unmodifiableSet(used.keySet());
+
+    public String get(SchemaNode node) {
+        return names.get(node);
+    }
+
+    public boolean containsKey(SchemaNode node) {
+        return names.containsKey(node);
+    }
+
+    public void put(SchemaNode node, String name) {
+        String previous = names.put(node, name);
+        if(previous != null) {
+            used.computeIfPresent(previous, (n, count) -> count > 1 ? count - 1 : null);
+        }
+        used.merge(name, 1, Integer::sum);
+    }
+
+    public void putAll(Map<? extends SchemaNode, String> names) {
+        names.forEach(this::put);
+    }
+
+    public void forEach(BiConsumer<SchemaNode, String> consumer) {
+        names.forEach(consumer);
+    }
+
+    /**
+     * @param name to check
+     * @return <code>true</code> if any node has given name
+     */
+    public boolean isUsed(String name) {
+        return used.containsKey(name);
+    }
+
+    /**
+     * @return live, read-only view of names in use
+     */
+    public Set<String> used() {
+        return usedView;
+    }
+}
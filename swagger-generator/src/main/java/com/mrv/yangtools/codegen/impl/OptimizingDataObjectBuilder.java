@@ -12,7 +12,7 @@
 package com.mrv.yangtools.codegen.impl;
 
 import com.mrv.yangtools.common.BindingMapping;
-import com.mrv.yangtools.common.Tuple;
+import com.mrv.yangtools.common.jfr.GenerationEvents;
 import io.swagger.models.*;
 import io.swagger.models.properties.Property;
 import io.swagger.models.properties.RefProperty;
@@ -25,7 +25,9 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.util.*;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,33 +38,104 @@ import java.util.stream.Stream;
  */
 public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
     private static final Logger log = LoggerFactory.getLogger(OptimizingDataObjectBuilder.class);
+    private static final String AUGMENTATION = "x-augmentation";
 
-    private HashMap<SchemaPath, GroupingDefinition> groupings;
+    private Map<SchemaPath, GroupingDefinition> groupings;
 
     private Map<Object, Model> existingModels;
     private final GroupingHierarchyHandler groupingHierarchyHandler;
     private Map<Object, Set<UsesNode>> usesCache;
 
-    private final Deque<DataNodeContainer> effectiveNode;
+    private final EffectiveNodeStack effectiveNode;
+
+    private static final Predicate<DataSchemaNode> toSimpleProperty = d ->  !d.isAugmenting() && ! d.isAddedByUses();
+
+    /** bit of the definition in ancestor sets */
+    private final Map<String, Integer> definitionBits;
+    /** definition and all definitions it inherits from */
+    private final Map<String, BitSet> ancestors;
+
+    /** models built by forks, shared by the builder and all its forks */
+    private final ConcurrentHashMap<Object, Built> built;
+    /** models being built by the fork, <code>null</code> for builders that are not forks */
+    private final Deque<Built> building;
+    private final Map<Model, Built> builds;
+    private final Map<Model, Definition> definitions;
+    private final Set<Built> replayed;
 
     public OptimizingDataObjectBuilder(SchemaContext ctx, Swagger swagger, TypeConverter converter) {
-        super(ctx, swagger, converter);
-        groupings = new HashMap<>();
+        this(new SchemaContextIndex(ctx), swagger, converter);
+    }
+
+    public OptimizingDataObjectBuilder(SchemaContextIndex index, Swagger swagger, TypeConverter converter) {
+        super(index, swagger, converter);
         existingModels = new HashMap<>();
-        usesCache = new HashMap<>();
-        groupingHierarchyHandler = new GroupingHierarchyHandler(ctx);
-        effectiveNode = new LinkedList<>();
+        usesCache = new ConcurrentHashMap<>();
+        groupingHierarchyHandler = index.getGroupingHierarchy();
+        effectiveNode = new EffectiveNodeStack();
+        definitionBits = new HashMap<>();
+        ancestors = new HashMap<>();
+        built = new ConcurrentHashMap<>();
+        building = null;
+        builds = null;
+        definitions = null;
+        replayed = null;
+
+        SchemaContextIndex.GroupingNames groupingNames = index.getGroupingNames(() -> {
+            Set<Module> allModules = ctx.getModules();
+            HashSet<String> names = new HashSet<>();
+            groupings = new HashMap<>();
+            allModules.forEach(m -> processGroupings(m, names));
+            HashMap<GroupingDefinition, String> gNames = new HashMap<>();
+            this.names.forEach((g, name) -> gNames.put((GroupingDefinition) g, name));
+            return new SchemaContextIndex.GroupingNames(groupings, gNames);
+        });
+        groupings = new HashMap<>(groupingNames.getGroupings());
+        names.putAll(groupingNames.getNames());
+    }
 
-        Set<Module> allModules = ctx.getModules();
-        HashSet<String> names = new HashSet<>();
-        allModules.forEach(m -> processGroupings(m, names));
+    private OptimizingDataObjectBuilder(OptimizingDataObjectBuilder parent, Swagger swagger, TypeConverter converter) {
+        super(parent, swagger, converter);
+        existingModels = new HashMap<>();
+        usesCache = parent.usesCache;
+        groupingHierarchyHandler = parent.groupingHierarchyHandler;
+        effectiveNode = new EffectiveNodeStack();
+        definitionBits = new HashMap<>();
+        ancestors = new HashMap<>();
+        groupings = parent.groupings;
+        built = parent.built;
+        building = new ArrayDeque<>();
+        builds = new IdentityHashMap<>();
+        definitions = new IdentityHashMap<>();
+        replayed = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Builder for models of a subtree that is independent from other subtrees, so that subtrees might be built concurrently.
+     * The fork shares names, groupings, uses and enumerations with this builder, has its own node context
+     * and adds models to the given Swagger. Modules have to be processed before forking.
+     * Models that do not depend on the subtree they are built in are built once and reused by all forks of this builder,
+     * together with the definitions added while building them.
+     * Models are complete once the fork is joined with {@link #join(OptimizingDataObjectBuilder)}.
+     * @param swagger for which models are built
+     * @param converter type converter for the fork
+     * @return new builder
+     */
+    public OptimizingDataObjectBuilder fork(Swagger swagger, TypeConverter converter) {
+        return new OptimizingDataObjectBuilder(this, swagger, converter);
+    }
+
+    /**
+     * Add models built by the fork to the Swagger of this builder. Forks have to be joined in the order of their subtrees.
+     * @param fork of this builder
+     */
+    public void join(OptimizingDataObjectBuilder fork) {
+        merge(fork);
     }
 
     @SuppressWarnings("unchecked")
     public <T extends SchemaNode & DataNodeContainer> Optional<T> effective(T node) {
-        return effectiveNode.stream().filter(n -> {
-            return n instanceof SchemaNode && ((SchemaNode) n).getQName().equals(node.getQName());
-        }).map(n -> (T)n).findFirst();
+        return Optional.ofNullable((T) observed(effectiveNode.find(node.getQName())));
     }
 
 
@@ -82,11 +155,22 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
     }
 
     private <T extends SchemaNode & DataNodeContainer> T getEffectiveChild(QName name) {
-        if(effectiveNode.isEmpty()) return null;
-        return effectiveNode.stream().map(n -> n.getDataChildByName(name))
-                .filter(n -> n instanceof DataNodeContainer)
-                .map(n -> (T)n)
-                .findFirst().orElse(null);
+        return (T) observed(effectiveNode.child(name));
+    }
+
+    /**
+     * Models depend on the subtree they are built in if they see augmented effective nodes, so they cannot be reused by other forks
+     * @param effective node
+     * @return the node
+     */
+    private <T> T observed(T effective) {
+        if(building != null && effective instanceof DataNodeContainer) {
+            DataNodeContainer node = (DataNodeContainer) effective;
+            if(isAugmented.test(node) || isTreeAugmented.test(node)) {
+                building.forEach(b -> b.contextual = true);
+            }
+        }
+        return effective;
     }
 
 
@@ -116,7 +200,7 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
             T effective = getEffectiveChild(n.getQName());
             if(effective == null) {
                 if(! effectiveNode.isEmpty()) {
-                    DataNodeContainer first = effectiveNode.getFirst();
+                    DataNodeContainer first = observed(effectiveNode.peek());
                     if(first instanceof SchemaNode && ((SchemaNode) first).getQName().equals(n.getQName())) {
                         effective = (T) first;
                     }
@@ -133,13 +217,10 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
 
     @Override
     protected void processNode(DataNodeContainer container, Set<String> cache) {
-        final HashSet<String> used = new HashSet<String>(cache);
-
         DataNodeHelper.stream(container).filter(n -> n instanceof ContainerSchemaNode || n instanceof ListSchemaNode)
                 .filter(n -> ! names.containsKey(n))
                 .forEach(n -> {
-                    String name = generateName(n, null, used);
-                    used.add(name);
+                    String name = generateName(n, null, cache);
                     names.put(n, name);
                 });
     }
@@ -150,7 +231,7 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
                 .map(n -> (GroupingDefinition)n)
                 .forEach(n -> {
                     String gName = generateName(n, null, cache);
-                    if(names.values().contains(gName)) {
+                    if(names.isUsed(gName)) {
                         //no type compatibility check at the moment thus this piece of code is prone to changes in parser
 
                         boolean differentDeclaration = groupings.values().stream().map(g -> ((GroupingEffectiveStatementImpl) g).getDeclared())
@@ -189,6 +270,8 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
         } else if(existingModel(node) == null) {
             log.debug("adding referenced model {} for node {} ", definitionId, node);
             addModel(node);
+        } else {
+            reused(treeAugmented ? existingModels.get(effectiveNode) : existingModel(node));
         }
 
         return prop;
@@ -197,15 +280,113 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
 
     @Override
     public <T extends SchemaNode & DataNodeContainer> Model build(T node) {
-        if(isTreeAugmented.test(node)) {
-            return model(node);
+        GenerationEvents.Scope event = event("model", node);
+        try {
+            if(isTreeAugmented.test(node)) {
+                return building == null ? model(node) : record(null, () -> model(node));
+            }
+            Model model = existingModel(node);
+            if(model != null) {
+                reused(model);
+            } else if(building == null) {
+                model = model(node);
+            } else {
+                Built shared = reusable(node);
+                model = shared == null ? record(key(node), () -> model(node)) : reuse(node, shared);
+            }
+
+            return model;
+        } finally {
+            event.end();
         }
-        Model model = existingModel(node);
-        if(model == null) {
-            model = model(node);
+    }
+
+    private DataNodeContainer key(DataNodeContainer node) {
+        DataNodeContainer original = original(node);
+        return original instanceof SchemaNode ? original : node;
+    }
+
+    /**
+     * Build model in a fork and keep definitions added meanwhile, so other forks can reuse it.
+     * Concurrent forks that need the model before it is built build it as well.
+     * @param key of the model or <code>null</code> if the model is not to be reused
+     * @param build model
+     * @return built model
+     */
+    private Model record(Object key, Supplier<Model> build) {
+        final Built mine = new Built();
+        final Built claimed = key == null ? mine : built.computeIfAbsent(key, k -> mine);
+        if(key == null) mine.contextual = true;
+        building.push(mine);
+        try {
+            mine.model = build.get();
+        } finally {
+            building.pop();
         }
+        builds.put(mine.model, mine);
+        replayed.add(mine);
+        step(mine);
+        if(claimed == mine) mine.done = true;
+        return mine.model;
+    }
 
-        return model;
+    private <T extends SchemaNode & DataNodeContainer> Built reusable(T node) {
+        return findRelatedNodes(node).stream().filter(Objects::nonNull)
+                .map(built::get)
+                .filter(b -> b != null && b.done && !b.contextual)
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Use model built by another fork. The definitions added while it was built are added to this fork.
+     */
+    private <T extends SchemaNode & DataNodeContainer> Model reuse(T node, Built shared) {
+        replay(shared);
+        existingModels.put(key(node), shared.model);
+        existingModels.put(node, shared.model);
+        builds.putIfAbsent(shared.model, shared);
+        step(shared);
+        return shared.model;
+    }
+
+    private void replay(Built shared) {
+        if(!replayed.add(shared)) return;
+        for(Object step : shared.steps) {
+            if(step instanceof Built) {
+                replay((Built) step);
+            } else {
+                Definition definition = (Definition) step;
+                replay(definition.name, definition.model);
+                definitions.putIfAbsent(definition.model, definition);
+            }
+        }
+    }
+
+    /**
+     * Keep model built before as it would be added again if it was not yet built
+     * @param model reused
+     */
+    private void reused(Model model) {
+        if(building == null || building.isEmpty() || model == null) return;
+        Built known = builds.get(model);
+        if(known != null) step(known);
+        Definition definition = definitions.get(model);
+        if(definition != null) building.peek().steps.add(definition);
+    }
+
+    private void step(Built step) {
+        Built current = building.peek();
+        if(current == null) return;
+        current.steps.add(step);
+        if(step.contextual) current.contextual = true;
+    }
+
+    @Override
+    protected void defined(String name, Model model) {
+        if(building == null) return;
+        Definition definition = new Definition(name, model);
+        definitions.putIfAbsent(model, definition);
+        if(!building.isEmpty()) building.peek().steps.add(definition);
     }
 
 
@@ -252,44 +433,70 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
     }
 
     private Model fromAugmentation(AugmentationSchema augmentation) {
+        GenerationEvents.Scope event = event(augmentation);
+        try {
+            Model model = fromContainer(augmentation);
+            //forks do not know all definitions yet, thus models are reused when forks are joined
+            if(!isFork()) {
+                model = reuse(model);
+            }
 
-        Model model = fromContainer(augmentation);
-        final Model toCheck = model;
-
-        String existingId = swagger.getDefinitions().entrySet().stream().filter(e -> e.getValue().equals(toCheck)).map(Map.Entry::getKey)
-                .findFirst().orElse(null);
+            HashMap<String, String> properties = new HashMap<>();
 
-        if(existingId != null) {
-            RefModel ref = new RefModel(existingId);
-            ComposedModel composedModel = new ComposedModel();
-            composedModel.setChild(ref);
-            model = composedModel;
-        }
+            if(augmentation instanceof NamespaceRevisionAware) {
+                URI uri = ((NamespaceRevisionAware) augmentation).getNamespace();
+                properties.put("namespace", uri.toString());
+                properties.put("prefix", moduleUtils.toModuleName(uri));
+                model.getVendorExtensions().put(AUGMENTATION, properties);
+            }
 
-        HashMap<String, String> properties = new HashMap<>();
 
-        if(augmentation instanceof NamespaceRevisionAware) {
-            URI uri = ((NamespaceRevisionAware) augmentation).getNamespace();
-            properties.put("namespace", uri.toString());
-            properties.put("prefix", moduleUtils.toModuleName(uri));
-            model.getVendorExtensions().put("x-augmentation", properties);
+            return model;
+        } finally {
+            event.end();
         }
+    }
 
+    /**
+     * Refer to an existing definition equal to the model
+     * @param model to check
+     * @return model referencing the existing definition or the model if there is none
+     */
+    private Model reuse(Model model) {
+        String existingId = swagger.getDefinitions().entrySet().stream().filter(e -> e.getValue().equals(model)).map(Map.Entry::getKey)
+                .findFirst().orElse(null);
 
-        return model;
+        if(existingId == null) return model;
+        RefModel ref = new RefModel(existingId);
+        ComposedModel composedModel = new ComposedModel();
+        composedModel.setChild(ref);
+        return composedModel;
+    }
+
+    /**
+     * Augmentation models built by a fork refer to equal definitions known when they are joined
+     */
+    @Override
+    protected Model joined(Model model) {
+        Object augmentation = model.getVendorExtensions().remove(AUGMENTATION);
+        if(augmentation == null) return model;
+        Model result = reuse(model);
+        model.getVendorExtensions().put(AUGMENTATION, augmentation);
+        if(result != model) result.getVendorExtensions().put(AUGMENTATION, augmentation);
+        return result;
     }
 
     @SuppressWarnings("unchecked")
     private <T extends SchemaNode & DataNodeContainer> Model model(T node) {
         if(effectiveNode.isEmpty()) {
-            effectiveNode.addFirst(node);
+            effectiveNode.push(node);
         } else {
             T effectiveChild = getEffectiveChild(node.getQName());
             if(effectiveChild == null) {
                 log.warn("no child found with name {}", node.getQName());
-                effectiveNode.addFirst(node);
+                effectiveNode.push(node);
             } else {
-                effectiveNode.addFirst(effectiveChild);
+                effectiveNode.push(effectiveChild);
             }
 
         }
@@ -331,6 +538,7 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
                 String pkg = BindingMapping.nameToPackageSegment(prop.get("prefix"));
                 String augName = pkg + "." + modelName + "Augmentation" + idx;
                 swagger.getDefinitions().put(augName, m);
+                defined(augName, m);
                 aModels.add(new RefModel("#/definitions/"+augName));
                 idx++;
 
@@ -342,27 +550,16 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
         existingModels.put(toModel, model);
         existingModels.put(node, model);
 
-        Optional<DataNodeContainer> toRemove = effectiveNode.stream().filter(
-                n -> n instanceof SchemaNode && ((SchemaNode) n).getQName().equals(node.getQName()))
-                .findFirst();
-
-        toRemove.ifPresent(effectiveNode::remove);
+        effectiveNode.remove(node.getQName());
 
         return model;
     }
 
     private Set<UsesNode> uses(DataNodeContainer toModel) {
-        if(usesCache.containsKey(toModel)) {
-            return usesCache.get(toModel);
-        }
-        final Set<UsesNode> uses = new HashSet<>(toModel.getUses());
-        Set<UsesNode> result = uses;
-
-        if(result.size() > 1) {
-            result = optimizeInheritance(uses);
-        }
-        usesCache.put(toModel, result);
-        return result;
+        return usesCache.computeIfAbsent(toModel, k -> {
+            final Set<UsesNode> uses = new HashSet<>(toModel.getUses());
+            return uses.size() > 1 ? optimizeInheritance(uses) : uses;
+        });
     }
 
     private Set<UsesNode> optimizeInheritance(Set<UsesNode> result) {
@@ -379,6 +576,13 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
         super.addModel(node);
     }
 
+    private GenerationEvents.Scope event(AugmentationSchema augmentation) {
+        if(!GenerationEvents.enabled()) return GenerationEvents.NONE;
+        String module = augmentation instanceof NamespaceRevisionAware ?
+                moduleUtils.toModuleName(((NamespaceRevisionAware) augmentation).getNamespace()) : null;
+        return GenerationEvents.begin("fromAugmentation", module, augmentation.getTargetPath().getLastComponent().getLocalName());
+    }
+
 
     private static class GroupingInfo {
         final Set<GroupingDefinition> models;
@@ -441,13 +645,22 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
                 if (existingModel(def) == null) {
                     log.debug("adding model {} for grouping", groupingIdx);
                     addModel(def);
+                } else {
+                    reused(existingModel(def));
                 }
                 models.add(refModel);
             });
             fromAugmentedGroupings.addAll(new ArrayList<>(info.attributes));
         });
 
-        List<RefModel> optimizedModels = optimizeInheritance(models);
+        List<RefModel> optimizedModels;
+        GenerationEvents.Scope event = node instanceof SchemaNode ?
+                event("optimizeInheritance", (SchemaNode) node) : GenerationEvents.NONE;
+        try {
+            optimizedModels = optimizeInheritance(models);
+        } finally {
+            event.end();
+        }
 
         SchemaNode doc = null;
         if(node instanceof SchemaNode) {
@@ -484,9 +697,8 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
 
     private List<RefModel> optimizeInheritance(List<RefModel> models) {
         if(models.size() < 2) return models;
-        Map<RefModel, Set<String>> inheritance = models.stream()
-                .map(m -> new RefModelTuple(m, inheritanceId(m)))
-                .collect(Collectors.toMap(RefModelTuple::first, RefModelTuple::second, (v1, v2) -> {v1.addAll(v2); return v1;}));
+        Map<RefModel, BitSet> inheritance = new LinkedHashMap<>();
+        models.forEach(m -> inheritance.putIfAbsent(m, ancestors(m.getSimpleRef())));
 
         //duplicates
         HashSet<String> nameCache = new HashSet<>();
@@ -501,14 +713,13 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
         })
                 // inheritance structure
                 .filter(model -> {
-                    Set<String> mine = inheritance.get(model);
+                    int mine = definitionBit(model.getSimpleRef());
 
                     // we leave only these models for which there is none more specific
                     // so if exist at least one more specific we can remove model
                     boolean existsMoreSpecific = inheritance.entrySet().stream()
                             .filter(e -> !e.getKey().equals(model))
-                            .map(e -> moreSpecific(e.getValue(), mine))
-                            .filter(eMoreSpecific -> eMoreSpecific).findFirst().orElse(false);
+                            .anyMatch(e -> e.getValue().get(mine));
 
                     if (existsMoreSpecific && log.isDebugEnabled()) {
                         log.debug("more specific models found than {}", model.getSimpleRef());
@@ -523,52 +734,62 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
     }
 
     /**
-     * All of 'mine' strings are more specific than 'yours'.
-     * In  other words for each of 'yours' exists at least one 'mine' which is more specific
-     * @param mine mine ids
-     * @param yours you
-     * @return <code>true</code> if more specific
+     * Ancestors of a definition. As the set is transitively closed a definition is more specific than other one
+     * if the other one is in its ancestors.
+     * @param id of the definition
+     * @return bits of the definition and all definitions it inherits from
      */
-    protected static boolean moreSpecific(Set<String> mine, Set<String> yours) {
-        return yours.stream()
-                .map(yString -> mine.stream()
-                        .map(mString -> mString.contains(yString))
-                        //exist in mine at least one string that contain yString [1]
-                        .filter(contains -> contains).findFirst().orElse(false)
-                )
-                //does not exist any your string that is incompatible with (1)
-                .filter(x -> !x).findFirst().orElse(true);
-    }
-
-    private Set<String> inheritanceId(RefModel m) {
-
-        String id = m.getSimpleRef();
+    private BitSet ancestors(String id) {
+        BitSet known = ancestors.get(id);
+        if(known != null) return known;
 
         Model model = swagger.getDefinitions().get(id);
-        if(model instanceof ModelImpl) return Collections.singleton(id);
+        BitSet result = new BitSet();
+        result.set(definitionBit(id));
 
         if(model instanceof RefModel) {
-            return inheritanceId((RefModel) model)
-                    .stream().map(s -> id + s)
-                    .collect(Collectors.toSet());
+            result.or(ancestors(((RefModel) model).getSimpleRef()));
+        } else if(model instanceof ComposedModel) {
+            ((ComposedModel) model).getAllOf().stream()
+                    .filter(c -> c instanceof RefModel)
+                    .forEach(c -> result.or(ancestors(((RefModel) c).getSimpleRef())));
+        } else if(! (model instanceof ModelImpl)) {
+            throw new IllegalArgumentException("model type not supported for " + id);
         }
 
+        ancestors.put(id, result);
+        return result;
+    }
 
-        if(model instanceof ComposedModel) {
-            return ((ComposedModel) model).getAllOf().stream()
-                    .filter(c -> c instanceof RefModel)
-                    .flatMap(c -> inheritanceId((RefModel)c)
-                            .stream().map(s -> id + s)
-                    ).collect(Collectors.toSet());
-        }
+    /**
+     * All of 'mine' strings are more specific than 'yours'.
+     * In  other words for each of 'yours' exists at least one 'mine' which is more specific
+     * @param mine mine ids
+     * @param yours you
+     * @return <code>true</code> if more specific
+     * @deprecated inheritance is not resolved with string ids anymore
+     */
+    @Deprecated
+    protected static boolean moreSpecific(Set<String> mine, Set<String> yours) {
+        return yours.stream().allMatch(y -> mine.stream().anyMatch(m -> m.contains(y)));
+    }
 
-        throw new IllegalArgumentException("model type not supported for " + id);
+    /**
+     * Drop cached ancestors of the definition and of all definitions that inherit from it
+     */
+    @Override
+    protected void overridden(String name) {
+        Integer bit = definitionBits.get(name);
+        if(bit != null) ancestors.values().removeIf(a -> a.get(bit));
     }
 
-    private static class RefModelTuple extends Tuple<RefModel, Set<String>> {
-        private RefModelTuple(RefModel model, Set<String> keys) {
-            super(model, keys);
+    private int definitionBit(String id) {
+        Integer bit = definitionBits.get(id);
+        if(bit == null) {
+            bit = definitionBits.size();
+            definitionBits.put(id, bit);
         }
+        return bit;
     }
 
     private  Model simple(DataNodeContainer toModel) {
@@ -584,12 +805,33 @@ public class OptimizingDataObjectBuilder extends AbstractDataObjectBuilder {
 
     @Override
     protected Map<String, Property> structure(DataNodeContainer node) {
-        Predicate<DataSchemaNode> toSimpleProperty = d ->  !d.isAugmenting() && ! d.isAddedByUses();
         return super.structure(node, toSimpleProperty, toSimpleProperty);
     }
 
     protected Map<String, Property> structure(DataNodeContainer node, Predicate<DataSchemaNode> includeAttributes) {
-        Predicate<DataSchemaNode> toSimpleProperty = d ->  !d.isAugmenting() && ! d.isAddedByUses();
-        return super.structure(node, toSimpleProperty.or(includeAttributes), toSimpleProperty.or(includeAttributes));
+        Predicate<DataSchemaNode> accept = toSimpleProperty.or(includeAttributes);
+        return super.structure(node, accept, accept);
+    }
+
+    /**
+     * Model built by a fork with definitions added and models reused while building it, in the order of use.
+     * Other forks add the same definitions when they reuse the model, as if they built it themselves.
+     */
+    private static class Built {
+        private Model model;
+        private final List<Object> steps = new ArrayList<>();
+        /** the model depends on the subtree it has been built in */
+        private boolean contextual;
+        private volatile boolean done;
+    }
+
+    private static class Definition {
+        private final String name;
+        private final Model model;
+
+        private Definition(String name, Model model) {
+            this.name = name;
+            this.model = model;
+        }
     }
 }
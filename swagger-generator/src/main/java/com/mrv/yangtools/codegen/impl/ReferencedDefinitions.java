@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen.impl;
+
+import io.swagger.models.*;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.properties.*;
+
+import java.util.*;
+
+/**
+ * Collects definitions (transitively) referenced from paths.
+ * Used to extract a self-contained subset of a Swagger definition.
+ * @author bartosz.michalik@amartus.com
+ */
+public class ReferencedDefinitions {
+    private final Map<String, Model> definitions;
+    private final Set<String> found;
+
+    /**
+     * @param definitions all definitions available
+     */
+    public ReferencedDefinitions(Map<String, Model> definitions) {
+        this.definitions = definitions == null ? Collections.emptyMap() : definitions;
+        this.found = new HashSet<>();
+    }
+
+    /**
+     * Collect definitions used by all operations of the path
+     * @param path to analyze
+     * @return this
+     */
+    public ReferencedDefinitions path(Path path) {
+        path.getOperations().forEach(o -> {
+            o.getParameters().stream()
+                    .filter(p -> p instanceof BodyParameter)
+                    .forEach(p -> model(((BodyParameter) p).getSchema()));
+            if(o.getResponses() != null) {
+                o.getResponses().values().forEach(r -> property(r.getSchema()));
+            }
+        });
+        return this;
+    }
+
+    /**
+     * @return collected definitions in order of the original definitions
+     */
+    public Map<String, Model> get() {
+        Map<String, Model> result = new LinkedHashMap<>();
+        definitions.forEach((k, v) -> {
+            if(found.contains(k)) result.put(k, v);
+        });
+        return result;
+    }
+
+    private void ref(String name) {
+        if(found.add(name)) {
+            model(definitions.get(name));
+        }
+    }
+
+    private void model(Model model) {
+        if(model == null) return;
+        if(model instanceof RefModel) {
+            ref(((RefModel) model).getSimpleRef());
+        } else if(model instanceof ComposedModel) {
+            ((ComposedModel) model).getAllOf().forEach(this::model);
+        } else if(model instanceof ArrayModel) {
+            property(((ArrayModel) model).getItems());
+        } else {
+            properties(model.getProperties());
+        }
+    }
+
+    private void properties(Map<String, Property> properties) {
+        if(properties != null) properties.values().forEach(this::property);
+    }
+
+    private void property(Property property) {
+        if(property instanceof RefProperty) {
+            ref(((RefProperty) property).getSimpleRef());
+        } else if(property instanceof ArrayProperty) {
+            property(((ArrayProperty) property).getItems());
+        } else if(property instanceof ObjectProperty) {
+            properties(((ObjectProperty) property).getProperties());
+        } else if(property instanceof MapProperty) {
+            property(((MapProperty) property).getAdditionalProperties());
+        }
+    }
+}
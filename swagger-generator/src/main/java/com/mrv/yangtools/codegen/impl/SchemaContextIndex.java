@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen.impl;
+
+import io.swagger.models.properties.Property;
+import org.opendaylight.yangtools.yang.model.api.*;
+import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed, read-mostly lookups for a single {@link SchemaContext}.
+ * All data kept here depends on the context only, so an index can be shared by
+ * all generators (and data object builders) working on the same context.
+ * Use {@link SchemaContextRegistry} to share indices between generator executions.
+ * @author bartosz.michalik@amartus.com
+ */
+public class SchemaContextIndex {
+    private static final Logger log = LoggerFactory.getLogger(SchemaContextIndex.class);
+
+    private final SchemaContext ctx;
+    private final ModuleUtils moduleUtils;
+    private final Map<DataNodeContainer, Boolean> treeAugmented;
+    private final Map<SchemaNode, LeafRef> leafRefs;
+    private final Map<Object, Property> propertyTemplates;
+    private volatile GroupingHierarchyHandler groupingHierarchy;
+    private volatile GroupingNames groupingNames;
+
+    public SchemaContextIndex(SchemaContext ctx) {
+        Objects.requireNonNull(ctx);
+        this.ctx = ctx;
+        this.moduleUtils = new ModuleUtils(ctx);
+        this.treeAugmented = Collections.synchronizedMap(new IdentityHashMap<>());
+        this.leafRefs = Collections.synchronizedMap(new IdentityHashMap<>());
+        this.propertyTemplates = new ConcurrentHashMap<>();
+    }
+
+    public SchemaContext getContext() {
+        return ctx;
+    }
+
+    public ModuleUtils getModuleUtils() {
+        return moduleUtils;
+    }
+
+    /**
+     * Grouping hierarchy for the context. Computed on first use.
+     * @return hierarchy handler
+     */
+    public GroupingHierarchyHandler getGroupingHierarchy() {
+        if(groupingHierarchy == null) {
+            synchronized (this) {
+                if(groupingHierarchy == null) {
+                    log.debug("computing grouping hierarchy");
+                    groupingHierarchy = new GroupingHierarchyHandler(ctx, moduleUtils);
+                }
+            }
+        }
+        return groupingHierarchy;
+    }
+
+    /**
+     * Names assigned to all groupings in the context.
+     * The table is computed once with the given supplier and then reused.
+     * @param compute function to compute the table
+     * @return grouping names table
+     */
+    public GroupingNames getGroupingNames(Supplier<GroupingNames> compute) {
+        if(groupingNames == null) {
+            synchronized (this) {
+                if(groupingNames == null) {
+                    log.debug("computing grouping names");
+                    groupingNames = compute.get();
+                }
+            }
+        }
+        return groupingNames;
+    }
+
+    /**
+     * Check if node or any of its descendants is augmented. Results are memoized.
+     * @param node to check
+     * @return <code>true</code> if augmentation is found in subtree
+     */
+    public boolean isTreeAugmented(DataNodeContainer node) {
+        if(node == null) return false;
+        Boolean result = treeAugmented.get(node);
+        if(result == null) {
+            result = AbstractDataObjectBuilder.isAugmented.test(node) || node.getChildNodes().stream()
+                    .filter(c -> c instanceof DataNodeContainer)
+                    .anyMatch(c -> isTreeAugmented((DataNodeContainer) c));
+            treeAugmented.put(node, result);
+        }
+        return result;
+    }
+
+    /**
+     * Resolve base type of the leafref target. Results are memoized per node, so every type converter
+     * working on the context resolves the XPath of a given leaf once.
+     * @param type leafref type
+     * @param parent node of the type
+     * @return base type of the referenced leaf
+     */
+    public TypeDefinition<?> getBaseTypeForLeafRef(LeafrefTypeDefinition type, SchemaNode parent) {
+        LeafRef known = leafRefs.get(parent);
+        if(known != null && known.type == type) return known.target;
+
+        TypeDefinition<?> target = SchemaContextUtil.getBaseTypeForLeafRef(type, ctx, parent);
+        if(target != null) {
+            leafRefs.put(parent, new LeafRef(type, target));
+        }
+        return target;
+    }
+
+    /**
+     * Swagger property a type is converted to. Templates are computed once per key, so every type converter working
+     * on the context converts a given type once. Templates are shared and must not be modified.
+     * @param key of the template
+     * @param convert function to compute the template
+     * @return property template
+     */
+    public Property getPropertyTemplate(Object key, Supplier<Property> convert) {
+        return propertyTemplates.computeIfAbsent(key, k -> convert.get());
+    }
+
+    /**
+     * Find modules of this index context that correspond to the given ones.
+     * Modules might come from an equivalent context.
+     * @param modules to translate
+     * @return modules of the indexed context
+     */
+    public Set<Module> modules(Set<Module> modules) {
+        return modules.stream().map(m -> {
+            Module module = ctx.findModuleByName(m.getName(), m.getRevision());
+            if(module == null) throw new IllegalArgumentException("no module " + m.getName() + " in indexed context");
+            return module;
+        }).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static class LeafRef {
+        private final LeafrefTypeDefinition type;
+        private final TypeDefinition<?> target;
+
+        private LeafRef(LeafrefTypeDefinition type, TypeDefinition<?> target) {
+            this.type = type;
+            this.target = target;
+        }
+    }
+
+    /**
+     * Names of groupings and groupings itself
+     */
+    public static class GroupingNames {
+        private final Map<SchemaPath, GroupingDefinition> groupings;
+        private final Map<GroupingDefinition, String> names;
+
+        public GroupingNames(Map<SchemaPath, GroupingDefinition> groupings, Map<GroupingDefinition, String> names) {
+            this.groupings = Collections.unmodifiableMap(groupings);
+            this.names = Collections.unmodifiableMap(names);
+        }
+
+        public Map<SchemaPath, GroupingDefinition> getGroupings() {
+            return groupings;
+        }
+
+        public Map<GroupingDefinition, String> getNames() {
+            return names;
+        }
+    }
+}
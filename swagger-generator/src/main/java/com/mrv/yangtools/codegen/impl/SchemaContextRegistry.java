@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen.impl;
+
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.SoftReference;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link SchemaContextIndex} for recently seen contexts.
+ * Contexts built from the same module sources (see {@link ModuleFingerprint}) are considered equivalent and share a single index
+ * (and the context instance that was registered first). The registry is bounded and drops least recently used entries.
+ * Indices are softly referenced, so a registry does not keep contexts alive when memory is needed elsewhere.
+ * @author bartosz.michalik@amartus.com
+ */
+public class SchemaContextRegistry {
+    private static final Logger log = LoggerFactory.getLogger(SchemaContextRegistry.class);
+    private static final SchemaContextRegistry shared = new SchemaContextRegistry(8);
+
+    private final Map<List<ModuleKey>, SoftReference<SchemaContextIndex>> indices;
+
+    /**
+     * @param maxSize maximal number of indices kept
+     */
+    public SchemaContextRegistry(final int maxSize) {
+        if(maxSize < 1) throw new IllegalArgumentException("registry size has to be positive");
+        indices = new LinkedHashMap<List<ModuleKey>, SoftReference<SchemaContextIndex>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<ModuleKey>, SoftReference<SchemaContextIndex>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Registry shared within a class loader (e.g. for all executions of a build)
+     * @return registry
+     */
+    public static SchemaContextRegistry shared() {
+        return shared;
+    }
+
+    /**
+     * Get index for the context or an equivalent context seen before.
+     * Note that returned index might refer to a different (yet equivalent) context instance.
+     * @param ctx context
+     * @return index
+     */
+    public synchronized SchemaContextIndex index(SchemaContext ctx) {
+        Objects.requireNonNull(ctx);
+        List<ModuleKey> key = ctx.getModules().stream().map(ModuleKey::new).sorted().collect(Collectors.toList());
+        SoftReference<SchemaContextIndex> ref = indices.get(key);
+        SchemaContextIndex index = ref == null ? null : ref.get();
+        if(index == null) {
+            log.debug("registering context with {} modules", key.size());
+            index = new SchemaContextIndex(ctx);
+            indices.put(key, new SoftReference<>(index));
+        } else if(index.getContext() != ctx) {
+            log.info("reusing index of an equivalent context");
+        }
+        return index;
+    }
+
+    private static class ModuleKey implements Comparable<ModuleKey> {
+        private final String name;
+        private final String namespace;
+        private final Date revision;
+        private final String fingerprint;
+
+        private ModuleKey(Module module) {
+            name = module.getName();
+            namespace = String.valueOf(module.getNamespace());
+            revision = module.getRevision();
+            fingerprint = ModuleFingerprint.of(module);
+        }
+
+        @Override
+        public int compareTo(ModuleKey o) {
+            int result = name.compareTo(o.name);
+            if(result != 0) return result;
+            return Comparator.nullsFirst(Date::compareTo).compare(revision, o.revision);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ModuleKey)) return false;
+            ModuleKey that = (ModuleKey) o;
+            return Objects.equals(name, that.name) &&
+                    Objects.equals(namespace, that.namespace) &&
+                    Objects.equals(revision, that.revision) &&
+                    Objects.equals(fingerprint, that.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, namespace, revision);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen.impl;
+
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.RefParameter;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registers path parameters of operations in the top-level parameters section of a Swagger definition
+ * and replaces them with references. Equal parameters are registered once, parameters that share a name
+ * yet differ get a numeric postfix.
+ * @author bartosz.michalik@amartus.com
+ */
+public class SharedParameters {
+    private static final String PARAM_PREFIX = "#/parameters/";
+    private final Swagger swagger;
+    //path parameters are created once per path segment and shared by the operations of its subtree
+    private final Map<Parameter, RefParameter> refs = new IdentityHashMap<>();
+
+    public SharedParameters(Swagger swagger) {
+        this.swagger = swagger;
+    }
+
+    /**
+     * Replace path parameters of all operations of the path with references
+     * @param path to process
+     * @return path
+     */
+    public Path share(Path path) {
+        path.getOperations().forEach(this::share);
+        return path;
+    }
+
+    private void share(Operation operation) {
+        List<Parameter> params = operation.getParameters();
+        params.replaceAll(p -> p instanceof PathParameter ? refs.computeIfAbsent(p, this::register) : p);
+    }
+
+    private RefParameter register(Parameter param) {
+        String name = param.getName();
+        int idx = 1;
+        Parameter existing;
+        while((existing = swagger.getParameter(name)) != null && !existing.equals(param)) {
+            name = param.getName() + idx++;
+        }
+        if(existing == null) {
+            swagger.parameter(name, param);
+        }
+        return new RefParameter(PARAM_PREFIX + name);
+    }
+}
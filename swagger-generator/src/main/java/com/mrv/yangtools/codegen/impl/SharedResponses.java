@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen.impl;
+
+import io.swagger.models.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Registers responses without a body (e.g. <code>400 Internal error</code>) in the top-level responses section
+ * of a Swagger definition and replaces them with references. Responses are named after their descriptions,
+ * e.g. <code>InternalError</code>.
+ * @author bartosz.michalik@amartus.com
+ */
+public class SharedResponses {
+    private static final String RESPONSE_PREFIX = "#/responses/";
+    private final Swagger swagger;
+    private final Map<Response, RefResponse> refs = new HashMap<>();
+
+    public SharedResponses(Swagger swagger) {
+        this.swagger = swagger;
+    }
+
+    /**
+     * Replace responses without a body of all operations of the path with references
+     * @param path to process
+     * @return path
+     */
+    public Path share(Path path) {
+        path.getOperations().forEach(this::share);
+        return path;
+    }
+
+    private void share(Operation operation) {
+        if(operation.getResponses() == null) return;
+        operation.getResponses().replaceAll((code, r) -> shareable(r) ? refs.computeIfAbsent(r, this::register) : r);
+    }
+
+    private static boolean shareable(Response response) {
+        return !(response instanceof RefResponse) && response.getDescription() != null
+                && response.getSchema() == null && response.getHeaders() == null && response.getExamples() == null;
+    }
+
+    private RefResponse register(Response response) {
+        String base = name(response.getDescription());
+        String name = base;
+        int idx = 1;
+        Response existing;
+        while(swagger.getResponses() != null && (existing = swagger.getResponses().get(name)) != null) {
+            if(existing.equals(response)) return new RefResponse(RESPONSE_PREFIX + name);
+            name = base + idx++;
+        }
+        swagger.response(name, response);
+        return new RefResponse(RESPONSE_PREFIX + name);
+    }
+
+    private static String name(String description) {
+        String name = Arrays.stream(description.split("\\W+")).filter(w -> !w.isEmpty())
+                .map(w -> Character.toUpperCase(w.charAt(0)) + w.substring(1))
+                .collect(Collectors.joining());
+        return name.isEmpty() ? "Response" : name;
+    }
+}
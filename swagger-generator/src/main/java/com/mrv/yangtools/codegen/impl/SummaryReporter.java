@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen.impl;
+
+import com.mrv.yangtools.codegen.GenerationListener;
+import io.swagger.models.Swagger;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Collects generation events and reports where the time was spent:
+ * totals per phase, slowest modules and slowest subtrees.
+ * @author bartosz.michalik@amartus.com
+ */
+public class SummaryReporter implements GenerationListener {
+    private static final Logger log = LoggerFactory.getLogger(SummaryReporter.class);
+
+    private final int top;
+    private final Map<Phase, Map<String, Long>> phases = new EnumMap<>(Phase.class);
+    private final PriorityQueue<Node> slowest = new PriorityQueue<>(Comparator.comparingLong(Node::getNanos));
+    private long nanos;
+    private int definitions;
+    private int paths;
+
+    /**
+     * Reporter for 10 slowest modules and subtrees
+     */
+    public SummaryReporter() {
+        this(10);
+    }
+
+    /**
+     * @param top number of slowest modules and subtrees to report
+     */
+    public SummaryReporter(int top) {
+        if(top < 1) throw new IllegalArgumentException("top has to be positive");
+        this.top = top;
+    }
+
+    /**
+     * Subtree processing statistics
+     */
+    public static class Node {
+        private final String path;
+        private final long nanos;
+        private final int models;
+        private final int paths;
+
+        private Node(String path, long nanos, int models, int paths) {
+            this.path = path;
+            this.nanos = nanos;
+            this.models = models;
+            this.paths = paths;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public int getModels() {
+            return models;
+        }
+
+        public int getPaths() {
+            return paths;
+        }
+    }
+
+    @Override
+    public synchronized void phaseFinished(Phase phase, String name, long nanos) {
+        phases.computeIfAbsent(phase, p -> new LinkedHashMap<>()).merge(name, nanos, Long::sum);
+    }
+
+    @Override
+    public synchronized void nodeVisited(String module, DataSchemaNode node, long nanos, int models, int paths) {
+        if(slowest.size() == top && slowest.peek().getNanos() >= nanos) return;
+        String path = StreamSupport.stream(node.getPath().getPathFromRoot().spliterator(), false)
+                .map(QName::getLocalName).collect(Collectors.joining("/", module + ":/", ""));
+        slowest.add(new Node(path, nanos, models, paths));
+        if(slowest.size() > top) slowest.poll();
+    }
+
+    @Override
+    public synchronized void generated(Swagger swagger, long nanos) {
+        this.nanos += nanos;
+        definitions += swagger.getDefinitions() == null ? 0 : swagger.getDefinitions().size();
+        paths += swagger.getPaths() == null ? 0 : swagger.getPaths().size();
+    }
+
+    /**
+     * @param phase to check
+     * @return total time spent in a phase
+     */
+    public synchronized long getNanos(Phase phase) {
+        return phases.getOrDefault(phase, Collections.emptyMap()).values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @param phase to check
+     * @param limit number of entries to return
+     * @return time spent per module (postprocessor, output) in the phase, the slowest first
+     */
+    public synchronized Map<String, Long> getNanos(Phase phase, int limit) {
+        return phases.getOrDefault(phase, Collections.emptyMap()).entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * @return the slowest subtrees, the slowest first
+     */
+    public synchronized List<Node> getSlowest() {
+        List<Node> result = new ArrayList<>(slowest);
+        result.sort(Comparator.comparingLong(Node::getNanos).reversed());
+        return result;
+    }
+
+    /**
+     * @return total generation time (without serialization) of all generators
+     */
+    public synchronized long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return number of definitions in all generated Swagger definitions
+     */
+    public synchronized int getDefinitions() {
+        return definitions;
+    }
+
+    /**
+     * @return number of paths in all generated Swagger definitions
+     */
+    public synchronized int getPaths() {
+        return paths;
+    }
+
+    /**
+     * @return human readable summary
+     */
+    public synchronized String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("generation %d ms, %d definitions, %d paths%n", ms(nanos), definitions, paths));
+        for(Phase phase : Phase.values()) {
+            if(!phases.containsKey(phase)) continue;
+            sb.append(String.format("  %-16s %8d ms%n", phase.name().toLowerCase(), ms(getNanos(phase))));
+            getNanos(phase, top).forEach((name, n) ->
+                    sb.append(String.format("    %-40s %8d ms%n", name, ms(n))));
+        }
+        sb.append(String.format("  slowest subtrees%n"));
+        getSlowest().forEach(n -> sb.append(String.format("    %-40s %8d ms %5d models %5d paths%n",
+                n.getPath(), ms(n.getNanos()), n.getModels(), n.getPaths())));
+        return sb.toString();
+    }
+
+    /**
+     * Log the summary
+     */
+    public void log() {
+        log.info("Swagger generation summary:{}{}", System.lineSeparator(), summary());
+    }
+
+    private static long ms(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -17,11 +17,12 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.*;
-import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
 import org.opendaylight.yangtools.yang.model.util.type.BaseTypes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+
 /**
  * Supports type conversion between YANG and swagger
  * @author cmurch@mrv.com
@@ -29,30 +30,78 @@ import org.slf4j.LoggerFactory;
  */
 public class TypeConverter {
 
-    private SchemaContext ctx;
+    private final SchemaContextIndex index;
     private DataObjectBuilder dataObjectBuilder;
 
+    /**
+     * Converter that uses the index of the context kept by {@link SchemaContextRegistry#shared()}
+     * @param ctx YANG context
+     */
     public TypeConverter(SchemaContext ctx) {
-        this.ctx = ctx;
+        this(SchemaContextRegistry.shared().index(ctx));
+    }
+
+    /**
+     * Converter that shares resolved leafrefs and converted properties with other users of the index
+     * @param index of the context
+     */
+    public TypeConverter(SchemaContextIndex index) {
+        this.index = index;
     }
 
     private static final Logger log = LoggerFactory.getLogger(TypeConverter.class);
 
     /**
-     * Convert YANG type to swagger property
+     * Convert YANG type to swagger property.
+     * The property is converted once per conversion key (see {@link #key(TypeDefinition, SchemaNode)}),
+     * each call returns a copy of it.
      * @param type YANG
      * @param parent for scope computation (to support leafrefs)
      * @return property
      */
-    @SuppressWarnings("ConstantConditions")
     public Property convert(TypeDefinition<?> type, SchemaNode parent) {
-        TypeDefinition<?> baseType = type.getBaseType();
-        if(baseType == null) baseType = type;
+        Object key = key(type, parent);
+        if(key instanceof EnumTypeDefinition) {
+            if(enumToModel()) {
+                String refString = dataObjectBuilder.addModel((EnumTypeDefinition) key);
+                return new RefProperty(refString);
+            }
+            return new StringProperty();
+        }
 
+        final Template template = (Template) key;
+        return copy(index.getPropertyTemplate(template, () -> template(type, template.target)));
+    }
+
+    /**
+     * Identify conversion of the type. Types with equal keys are converted to equal properties.
+     * Enumerations are identified by their definition, leafrefs by their type and target,
+     * other types by their base type.
+     * @param type YANG
+     * @param parent for scope computation (to support leafrefs)
+     * @return conversion key
+     */
+    public Object key(TypeDefinition<?> type, SchemaNode parent) {
         if(type instanceof LeafrefTypeDefinition) {
             log.debug("leaf node {}",  type);
-            baseType = SchemaContextUtil.getBaseTypeForLeafRef((LeafrefTypeDefinition) type, ctx, parent);
+            TypeDefinition<?> target = index.getBaseTypeForLeafRef((LeafrefTypeDefinition) type, parent);
+            return new Template(getClass(), type, target);
         }
+        EnumTypeDefinition e = toEnum(type);
+        if(e != null) return e;
+        return new Template(getClass(), type.getBaseType() == null ? type : type.getBaseType(), null);
+    }
+
+    /**
+     * Convert YANG type that is not an enumeration. The result is shared by all converters of the same class
+     * working on the context and by all types derived from the same base type, it must not be modified afterwards.
+     * @param type YANG
+     * @param target base type of the leafref target or <code>null</code> for other types
+     * @return property template
+     */
+    protected Property template(TypeDefinition<?> type, TypeDefinition<?> target) {
+        TypeDefinition<?> baseType = type instanceof LeafrefTypeDefinition ? target
+                : type.getBaseType() == null ? type : type.getBaseType();
 
         if(baseType instanceof BooleanTypeDefinition) {
             return new BooleanProperty();
@@ -60,24 +109,49 @@ public class TypeConverter {
 
         if(baseType instanceof IntegerTypeDefinition || baseType instanceof UnsignedIntegerTypeDefinition) {
             //TODO [bmi] how to map int8 type ???
-            BaseIntegerProperty integer = new IntegerProperty();
             if (BaseTypes.isInt64(baseType) || BaseTypes.isUint32(baseType)) {
-                integer = new LongProperty();
-            }
-            return integer;
-        }
-
-        EnumTypeDefinition e = toEnum(type);
-        if(e != null) {
-            if(enumToModel()) {
-                String refString = dataObjectBuilder.addModel(e);
-                return new RefProperty(refString);
+                return new LongProperty();
             }
+            return new IntegerProperty();
         }
 
         return new StringProperty();
     }
 
+    /**
+     * Copy property template, so it can be adjusted for a leaf
+     * @param template property
+     * @return copy of the property
+     * @throws IllegalArgumentException for templates of unsupported types
+     */
+    protected Property copy(Property template) {
+        AbstractProperty copy;
+        if(template instanceof BooleanProperty) {
+            copy = new BooleanProperty();
+        } else if(template instanceof LongProperty || template instanceof IntegerProperty) {
+            AbstractNumericProperty numeric = template instanceof LongProperty ? new LongProperty() : new IntegerProperty();
+            AbstractNumericProperty t = (AbstractNumericProperty) template;
+            numeric.setMinimum(t.getMinimum());
+            numeric.setMaximum(t.getMaximum());
+            numeric.setExclusiveMinimum(t.getExclusiveMinimum());
+            numeric.setExclusiveMaximum(t.getExclusiveMaximum());
+            copy = numeric;
+        } else if(template instanceof StringProperty) {
+            StringProperty t = (StringProperty) template;
+            StringProperty string = new StringProperty();
+            string.setEnum(t.getEnum() == null ? null : new ArrayList<>(t.getEnum()));
+            string.setPattern(t.getPattern());
+            string.setMinLength(t.getMinLength());
+            string.setMaxLength(t.getMaxLength());
+            copy = string;
+        } else {
+            throw new IllegalArgumentException("unsupported property template " + template.getClass().getSimpleName());
+        }
+        copy.setFormat(template.getFormat());
+        copy.getVendorExtensions().putAll(template.getVendorExtensions());
+        return copy;
+    }
+
     /**
      * Check if builder is present.
      * @return <code>true</code>
@@ -88,7 +162,7 @@ public class TypeConverter {
         return true;
     }
 
-    private EnumTypeDefinition toEnum(TypeDefinition<?> type) {
+    private static EnumTypeDefinition toEnum(TypeDefinition<?> type) {
         if(type instanceof  EnumTypeDefinition) return (EnumTypeDefinition) type;
         if(type.getBaseType() instanceof  EnumTypeDefinition) return (EnumTypeDefinition) type.getBaseType();
         return null;
@@ -98,4 +172,32 @@ public class TypeConverter {
     public void setDataObjectBuilder(DataObjectBuilder dataObjectBuilder) {
         this.dataObjectBuilder = dataObjectBuilder;
     }
+
+    /**
+     * Key of a property template. Types are compared by identity.
+     */
+    private static class Template {
+        private final Class<?> converter;
+        private final TypeDefinition<?> type;
+        private final TypeDefinition<?> target;
+
+        private Template(Class<?> converter, TypeDefinition<?> type, TypeDefinition<?> target) {
+            this.converter = converter;
+            this.type = type;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Template)) return false;
+            Template that = (Template) o;
+            return converter == that.converter && type == that.type && target == that.target;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * converter.hashCode() + System.identityHashCode(type)) + System.identityHashCode(target);
+        }
+    }
 }
@@ -21,9 +21,7 @@ import org.opendaylight.yangtools.yang.model.api.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
 
 /**
  * Used to convert YANG data nodes to Swagger models. The generator strategy is to unpack
@@ -36,16 +34,32 @@ public class UnpackingDataObjectsBuilder extends AbstractDataObjectBuilder {
     private static final Logger log = LoggerFactory.getLogger(UnpackingDataObjectsBuilder.class);
 
     private Set<String> built;
+    /** inline structures by the grouping node they come from and the inputs of their instantiation */
+    private final Map<Instance, Inline> structures;
+    /** instantiation inputs per node */
+    private final Map<DataNodeContainer, Instance> instances;
+    /** names of nodes inlined into structures being built */
+    private final Deque<Set<String>> inlining;
 
     /**
      * @param ctx YANG modules context
      * @param swagger for which models are built
      */
     public UnpackingDataObjectsBuilder(SchemaContext ctx, Swagger swagger, TypeConverter converter) {
-        super(ctx, swagger, converter);
-        Objects.requireNonNull(ctx);
+        this(new SchemaContextIndex(ctx), swagger, converter);
+    }
+
+    /**
+     * @param index precomputed YANG modules context data
+     * @param swagger for which models are built
+     */
+    public UnpackingDataObjectsBuilder(SchemaContextIndex index, Swagger swagger, TypeConverter converter) {
+        super(index, swagger, converter);
         Objects.requireNonNull(swagger);
         built = new HashSet<>();
+        structures = new HashMap<>();
+        instances = new IdentityHashMap<>();
+        inlining = new ArrayDeque<>();
     }
 
     /**
@@ -58,7 +72,6 @@ public class UnpackingDataObjectsBuilder extends AbstractDataObjectBuilder {
         final ModelImpl model = new ModelImpl();
         model.description(desc(node));
         model.setProperties(structure(node));
-
         built.add(getName(node));
 
         return model;
@@ -82,9 +95,118 @@ public class UnpackingDataObjectsBuilder extends AbstractDataObjectBuilder {
             prop = new RefProperty(definitionId);
         } else {
             log.debug("submodel for {}", getName(node));
-            prop = new ObjectProperty(structure(node, x -> true, x -> true));
+            if(!inlining.isEmpty()) inlining.peek().add(getName(node));
+            prop = new ObjectProperty(inline(node));
         }
         return prop;
     }
 
+    /**
+     * Structure of a node that is not built as a model. Nodes instantiated alike from the same grouping node
+     * share a single read-only map of properties, consumers that need changes have to replace the map.
+     * A shared structure is valid as long as none of the nodes inlined into it is built as a model.
+     * @param node to get structure for
+     * @return properties
+     */
+    private <T extends DataSchemaNode & DataNodeContainer> Map<String, Property> inline(T node) {
+        DataNodeContainer origin = original(node);
+        if(origin == null || isTreeAugmented.test(node)) {
+            return structure(node, any, any);
+        }
+        Instance key = instance(node);
+        Inline structure = structures.get(key);
+        if(structure == null || structure.inlined.stream().anyMatch(built::contains)) {
+            inlining.push(new HashSet<>());
+            try {
+                structure = new Inline(Collections.unmodifiableMap(structure(node, any, any)), inlining.peek());
+            } finally {
+                inlining.pop();
+            }
+            structures.put(key, structure);
+        }
+        if(!inlining.isEmpty()) inlining.peek().addAll(structure.inlined);
+        return structure.properties;
+    }
+
+    /**
+     * Inputs the structure of a node is built from, which differ between instantiations of a grouping node
+     * e.g. due to refines, deviations or relative leafrefs
+     * @param node to get inputs for
+     * @return instantiation of the node
+     */
+    private Instance instance(DataNodeContainer node) {
+        Instance instance = instances.get(node);
+        if(instance == null) {
+            List<Object> inputs = new ArrayList<>();
+            inputs(node, inputs);
+            DataNodeContainer origin = original(node);
+            instance = new Instance(origin == null ? node : origin, inputs);
+            instances.put(node, instance);
+        }
+        return instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends SchemaNode & DataNodeContainer> void inputs(DataNodeContainer node, List<Object> inputs) {
+        for(DataSchemaNode child : node.getChildNodes()) {
+            inputs.add(child.getQName());
+            if(child instanceof ChoiceSchemaNode) {
+                for(ChoiceCaseNode _case : ((ChoiceSchemaNode) child).getCases()) {
+                    inputs.add(_case.getQName());
+                    inputs(_case, inputs);
+                }
+                continue;
+            }
+            inputs.add(child.isAugmenting());
+            inputs.add(child.getDescription());
+            inputs.add(child.getReference());
+            if(child instanceof LeafSchemaNode) {
+                LeafSchemaNode leaf = (LeafSchemaNode) child;
+                inputs.add(leaf.getDefault());
+                inputs.add(converter.key(leaf.getType(), leaf));
+            } else if(child instanceof LeafListSchemaNode) {
+                LeafListSchemaNode leafList = (LeafListSchemaNode) child;
+                inputs.add(converter.key(leafList.getType(), leafList));
+            } else if(child instanceof DataNodeContainer) {
+                inputs.add(getName((T) child));
+                inputs.add(instance((DataNodeContainer) child));
+            }
+        }
+    }
+
+    private static class Instance {
+        private final DataNodeContainer origin;
+        private final List<Object> inputs;
+        private final int hash;
+
+        private Instance(DataNodeContainer origin, List<Object> inputs) {
+            this.origin = origin;
+            this.inputs = inputs;
+            this.hash = 31 * System.identityHashCode(origin) + inputs.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Instance)) return false;
+            Instance that = (Instance) o;
+            return origin == that.origin && hash == that.hash && inputs.equals(that.inputs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static class Inline {
+        private final Map<String, Property> properties;
+        /** names of nodes inlined into the structure */
+        private final Set<String> inlined;
+
+        private Inline(Map<String, Property> properties, Set<String> inlined) {
+            this.properties = properties;
+            this.inlined = inlined;
+        }
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.AbstractProperty;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.util.Json;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Reduce memory footprint of the definitions. Definition and property names, references, descriptions and string extensions
+ * are interned and equal properties are replaced with a single shared instance.
+ * Properties are shared only if they are equal and have the same serialized form, as <code>equals</code> of swagger models
+ * does not cover all attributes (e.g. enumeration values and defaults).
+ * As properties are shared the definitions are read-only afterwards: a modification of a shared property would change
+ * all definitions using it, thus it has to be the last postprocessor.
+ * Instance might be reused to share the pool between many Swagger definitions.
+ * @author bartosz.michalik@amartus.com
+ */
+public class CompactModels implements Consumer<Swagger> {
+    private final Interner<String> strings = Interners.newWeakInterner();
+    private final Map<Shared, Property> properties = new ConcurrentHashMap<>();
+
+    @Override
+    public void accept(Swagger swagger) {
+        if(swagger.getDefinitions() == null) return;
+        Map<String, Model> definitions = new LinkedHashMap<>();
+        swagger.getDefinitions().forEach((name, model) -> {
+            model(model);
+            definitions.put(intern(name), model);
+        });
+        swagger.setDefinitions(definitions);
+    }
+
+    private void model(Model model) {
+        model.setDescription(intern(model.getDescription()));
+        if(model instanceof RefModel) {
+            RefModel ref = (RefModel) model;
+            ref.set$ref(intern(ref.get$ref()));
+        } else if(model instanceof ComposedModel) {
+            ((ComposedModel) model).getAllOf().forEach(this::model);
+        } else if(model instanceof ModelImpl && model.getProperties() != null) {
+            Map<String, Property> compacted = properties(model.getProperties());
+            model.getProperties().clear();
+            model.setProperties(compacted);
+        }
+    }
+
+    private Map<String, Property> properties(Map<String, Property> properties) {
+        Map<String, Property> result = new LinkedHashMap<>();
+        properties.forEach((name, p) -> result.put(intern(name), property(p)));
+        return result;
+    }
+
+    private Property property(Property property) {
+        if(property == null) return null;
+        property.setDescription(intern(property.getDescription()));
+        if(property instanceof AbstractProperty) {
+            property.getVendorExtensions().entrySet().forEach(e -> {
+                if(e.getValue() instanceof String) e.setValue(intern((String) e.getValue()));
+            });
+        }
+        if(property instanceof RefProperty) {
+            RefProperty ref = (RefProperty) property;
+            ref.set$ref(intern(ref.get$ref()));
+        } else if(property instanceof ArrayProperty) {
+            ArrayProperty array = (ArrayProperty) property;
+            array.setItems(property(array.getItems()));
+        } else if(property instanceof ObjectProperty && ((ObjectProperty) property).getProperties() != null) {
+            ObjectProperty object = (ObjectProperty) property;
+            object.setProperties(properties(object.getProperties()));
+        }
+        if(! shareable(property)) return property;
+        Property shared = properties.putIfAbsent(new Shared(property), property);
+        return shared == null ? property : shared;
+    }
+
+    /**
+     * Object property equality does not take nested properties into account,
+     * so objects (and arrays of objects) cannot be shared safely.
+     */
+    private static boolean shareable(Property property) {
+        if(property instanceof ObjectProperty) return false;
+        if(property instanceof ArrayProperty) return shareable(((ArrayProperty) property).getItems());
+        return true;
+    }
+
+    private String intern(String value) {
+        return value == null ? null : strings.intern(value);
+    }
+
+    /**
+     * Key of a shareable property. The serialized form covers attributes ignored by <code>equals</code>,
+     * while <code>equals</code> covers attributes not serialized with the property (e.g. <code>required</code>).
+     */
+    private static final class Shared {
+        private final Property property;
+        private final String serialized;
+
+        private Shared(Property property) {
+            this.property = property;
+            try {
+                this.serialized = Json.mapper().writeValueAsString(property);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize property " + property.getName(), e);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) return true;
+            if(!(o instanceof Shared)) return false;
+            Shared other = (Shared) o;
+            return serialized.equals(other.serialized) && property.equals(other.property);
+        }
+
+        @Override
+        public int hashCode() {
+            return serialized.hashCode();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2018 Amartus. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+package com.mrv.yangtools.codegen.impl.postprocessor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Merge definitions with the same structure, e.g. containers copied between modules.
+ * Definitions are compared by their serialized form, with references to already merged definitions
+ * pointing to the canonical ones, so definitions that differ only by references to equivalent definitions are merged too.
+ * The definition with the lexicographically first name is kept from each group and all references are pointed to it.
+ * @author bartosz.michalik@amartus.com
+ */
+public class MergeEquivalentDefinitions implements Consumer<Swagger> {
+    private static final Logger log = LoggerFactory.getLogger(MergeEquivalentDefinitions.class);
+    private static final String REF = "$ref";
+    private static final String DEF_PREFIX = "#/definitions/";
+
+    private final boolean ignoreDescriptions;
+
+    public MergeEquivalentDefinitions() {
+        this(false);
+    }
+
+    /**
+     * @param ignoreDescriptions if <code>true</code> definitions that differ only by descriptions are merged
+     */
+    public MergeEquivalentDefinitions(boolean ignoreDescriptions) {
+        this.ignoreDescriptions = ignoreDescriptions;
+    }
+
+    @Override
+    public void accept(Swagger target) {
+        if(target.getDefinitions() == null) return;
+
+        Map<String, JsonNode> structures = new LinkedHashMap<>();
+        target.getDefinitions().forEach((name, model) -> {
+            JsonNode structure = Json.mapper().valueToTree(model);
+            if(ignoreDescriptions) removeDescriptions(structure);
+            structures.put(name, structure);
+        });
+
+        Map<String, String> replacements = new HashMap<>();
+        for(Map<String, String> merged = merge(structures); !merged.isEmpty(); merged = merge(structures)) {
+            final Map<String, String> round = merged;
+            replacements.replaceAll((name, canonical) -> round.getOrDefault(canonical, canonical));
+            replacements.putAll(round);
+            round.keySet().forEach(structures::remove);
+            structures.values().forEach(s -> rewrite(s, round));
+        }
+
+        log.debug("{} definitions merged into equivalent ones", replacements.size());
+        if(!replacements.isEmpty()) {
+            new ReplaceEmptyWithParent().replace(target, replacements);
+        }
+    }
+
+    /**
+     * @param structures of definitions
+     * @return names of definitions to the names of definitions with the same structure they are merged into
+     */
+    private static Map<String, String> merge(Map<String, JsonNode> structures) {
+        Map<JsonNode, String> canonical = new HashMap<>();
+        structures.forEach((name, structure) -> canonical.merge(structure, name, (a, b) -> a.compareTo(b) <= 0 ? a : b));
+        Map<String, String> merged = new HashMap<>();
+        structures.forEach((name, structure) -> {
+            String first = canonical.get(structure);
+            if(!first.equals(name)) merged.put(name, first);
+        });
+        return merged;
+    }
+
+    private static void rewrite(JsonNode node, Map<String, String> merged) {
+        if(node.isObject()) {
+            JsonNode ref = node.get(REF);
+            if(ref != null && ref.isTextual() && ref.asText().startsWith(DEF_PREFIX)) {
+                String replacement = merged.get(ref.asText().substring(DEF_PREFIX.length()));
+                if(replacement != null) ((ObjectNode) node).set(REF, new TextNode(DEF_PREFIX + replacement));
+            }
+        }
+        node.forEach(child -> rewrite(child, merged));
+    }
+
+    private static void removeDescriptions(JsonNode node) {
+        if(node.isObject()) {
+            JsonNode description = node.get("description");
+            if(description != null && description.isTextual()) ((ObjectNode) node).remove("description");
+        }
+        node.forEach(MergeEquivalentDefinitions::removeDescriptions);
+    }
+}
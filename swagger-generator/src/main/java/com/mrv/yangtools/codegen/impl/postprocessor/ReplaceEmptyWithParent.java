@@ -14,6 +14,7 @@ import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.ObjectProperty;
 import io.swagger.models.properties.Property;
 import io.swagger.models.properties.RefProperty;
 import org.slf4j.Logger;
@@ -49,6 +50,15 @@ public class ReplaceEmptyWithParent implements Consumer<Swagger> {
                 }).collect(Collectors.toMap(Tuple::first, Tuple::second));
 
         log.debug("{} replacement found for definitions", replacements.size());
+        replace(target, replacements);
+    }
+
+    /**
+     * Point references to replaced definitions to their replacements and remove replaced definitions.
+     * @param target to work on
+     * @param replacements definition names to their replacements
+     */
+    void replace(Swagger target, Map<String, String> replacements) {
         log.trace("replacing paths");
         target.getPaths().values().stream().flatMap(p -> p.getOperations().stream())
                 .forEach(o -> fixOperation(o, replacements));
@@ -80,22 +90,24 @@ public class ReplaceEmptyWithParent implements Consumer<Swagger> {
             log.warn("Empty model in {}", name);
             return;
         }
-        fixProperties.getProperties().forEach((key, value) -> {
+        fixProperties(name, fixProperties.getProperties(), replacements);
+    }
+
+    private void fixProperties(String name, Map<String, Property> properties, Map<String, String> replacements) {
+        properties.forEach((key, value) -> {
+            if(value instanceof ArrayProperty) {
+                value = ((ArrayProperty) value).getItems();
+            }
             if (value instanceof RefProperty) {
                 if (fixProperty((RefProperty) value, replacements)) {
                     log.debug("fixing property {} of {}", key, name);
                 }
-            } else if (value instanceof ArrayProperty) {
-                Property items = ((ArrayProperty) value).getItems();
-                if (items instanceof RefProperty) {
-                    if (fixProperty((RefProperty) items, replacements)) {
-                        log.debug("fixing property {} of {}", key, name);
-                    }
-                }
+            } else if (value instanceof ObjectProperty && ((ObjectProperty) value).getProperties() != null) {
+                fixProperties(name, ((ObjectProperty) value).getProperties(), replacements);
             }
         });
-
     }
+
     private boolean fixProperty(RefProperty p, Map<String, String> replacements) {
         if(replacements.containsKey(p.getSimpleRef())) {
             p.set$ref(replacements.get(p.getSimpleRef()));
@@ -140,7 +152,8 @@ public class ReplaceEmptyWithParent implements Consumer<Swagger> {
         RefModel ref = (RefModel) bp.getSchema();
         if(replacements.containsKey(ref.getSimpleRef())) {
             String replacement = replacements.get(ref.getSimpleRef());
-            bp.setDescription(bp.getDescription().replace(ref.getSimpleRef(), replacement));
+            if(bp.getDescription() != null)
+                bp.setDescription(bp.getDescription().replace(ref.getSimpleRef(), replacement));
             bp.setSchema(new RefModel(replacement));
         }
 
@@ -30,6 +30,8 @@ import com.mrv.yangtools.codegen.impl.DeleteOperationGenerator;
 import com.mrv.yangtools.codegen.impl.GetOperationGenerator;
 import com.mrv.yangtools.codegen.impl.PostOperationGenerator;
 import com.mrv.yangtools.codegen.impl.PutOperationGenerator;
+import com.mrv.yangtools.codegen.impl.SharedParameters;
+import com.mrv.yangtools.codegen.impl.SharedResponses;
 
 import io.swagger.models.Operation;
 import io.swagger.models.Path;
@@ -55,8 +57,11 @@ class ODLPathHandler implements com.mrv.yangtools.codegen.PathHandler {
     private final DataObjectBuilder dataObjectBuilder;
     private final Set<TagGenerator> tagGenerators;
     private final  boolean fullCrud;
+    private final SharedParameters parameters;
+    private final SharedResponses responses;
 
-    ODLPathHandler(SchemaContext ctx, Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, boolean fullCrud) {
+    ODLPathHandler(SchemaContext ctx, Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, boolean fullCrud,
+            SharedParameters parameters, SharedResponses responses) {
         this.swagger = target;
         this.ctx = ctx;
         this.module = modules;
@@ -66,6 +71,8 @@ class ODLPathHandler implements com.mrv.yangtools.codegen.PathHandler {
         this.dataObjectBuilder = objBuilder;
         this.tagGenerators = generators;
         this.fullCrud = fullCrud;
+        this.parameters = parameters;
+        this.responses = responses;
     }
 
 
@@ -73,12 +80,12 @@ class ODLPathHandler implements com.mrv.yangtools.codegen.PathHandler {
     public void path(ContainerSchemaNode cN, PathSegment pathCtx) {
     	final Path operationalPath = operationalOperations(cN, pathCtx);
     	ODLRestconfPathPrinter operationalPathPrinter = new ODLRestconfPathPrinter(pathCtx, false);
-    	swagger.path(operational + operationalPathPrinter.path(), operationalPath);
+    	swagger.path(operational + operationalPathPrinter.path(), share(operationalPath));
     	
 		if (!pathCtx.isReadOnly()) {
 			final Path configPath = operations(cN, pathCtx);
 	    	ODLRestconfPathPrinter configPathPrinter = new ODLRestconfPathPrinter(pathCtx, false);
-	    	swagger.path(data + configPathPrinter.path(), configPath);
+	    	swagger.path(data + configPathPrinter.path(), share(configPath));
 		}        
     }
 
@@ -112,12 +119,12 @@ class ODLPathHandler implements com.mrv.yangtools.codegen.PathHandler {
     public void path(ListSchemaNode lN, PathSegment pathCtx) {
     	final Path operationalPath = operationalOperations(lN, pathCtx);
     	ODLRestconfPathPrinter operationalPathPrinter = new ODLRestconfPathPrinter(pathCtx, false);
-    	swagger.path(operational + operationalPathPrinter.path(), operationalPath);
+    	swagger.path(operational + operationalPathPrinter.path(), share(operationalPath));
     	
 		if (!pathCtx.isReadOnly()) {
 			final Path configPath = operations(lN, pathCtx);
 	    	ODLRestconfPathPrinter configPathPrinter = new ODLRestconfPathPrinter(pathCtx, false);
-	    	swagger.path(data + configPathPrinter.path(), configPath);
+	    	swagger.path(data + configPathPrinter.path(), share(configPath));
 	    	
 	    	if(fullCrud) {
 	            //add list path
@@ -126,7 +133,7 @@ class ODLPathHandler implements com.mrv.yangtools.codegen.PathHandler {
 
 
 	            ODLRestconfPathPrinter postPrinter = new ODLRestconfPathPrinter(pathCtx, true);
-	            swagger.path(data + postPrinter.path(), list);
+	            swagger.path(data + postPrinter.path(), share(list));
 	    	}
 		}   
     }
@@ -160,7 +167,13 @@ class ODLPathHandler implements com.mrv.yangtools.codegen.PathHandler {
                     .description(description));
         }
         post.response(201, new Response().description("No response")); //no output body
-        swagger.path(operations + printer.path(), new Path().post(post));
+        swagger.path(operations + printer.path(), share(new Path().post(post)));
+    }
+
+    private Path share(Path path) {
+        if(parameters != null) parameters.share(path);
+        if(responses != null) responses.share(path);
+        return path;
     }
 
     private List<String> tags(PathSegment pathCtx) {
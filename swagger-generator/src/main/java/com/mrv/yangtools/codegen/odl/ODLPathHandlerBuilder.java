@@ -14,6 +14,8 @@ package com.mrv.yangtools.codegen.odl;
 import com.mrv.yangtools.codegen.DataObjectBuilder;
 import com.mrv.yangtools.codegen.PathHandler;
 import com.mrv.yangtools.codegen.TagGenerator;
+import com.mrv.yangtools.codegen.impl.SharedParameters;
+import com.mrv.yangtools.codegen.impl.SharedResponses;
 import io.swagger.models.Swagger;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -31,10 +33,14 @@ public class ODLPathHandlerBuilder implements com.mrv.yangtools.codegen.PathHand
     private DataObjectBuilder objBuilder;
     private Set<TagGenerator> tagGenerators = new HashSet<>();
     private boolean fullCrud = true;
+    private boolean sharedParameters;
+    private boolean sharedResponses;
+    private SharedParameters parameters;
+    private SharedResponses responses;
 
     @Override
     public PathHandler forModule(Module module) {
-        return new ODLPathHandler(ctx, module, target, objBuilder, tagGenerators,fullCrud);
+        return new ODLPathHandler(ctx, module, target, objBuilder, tagGenerators,fullCrud, parameters, responses);
     }
 
     public ODLPathHandlerBuilder withoutFullCrud() {
@@ -42,6 +48,24 @@ public class ODLPathHandlerBuilder implements com.mrv.yangtools.codegen.PathHand
         return this;
     }
 
+    /**
+     * Define path parameters once in the top-level parameters section and reference them from operations.
+     * @return this
+     */
+    public ODLPathHandlerBuilder withSharedParameters() {
+        sharedParameters = true;
+        return this;
+    }
+
+    /**
+     * Define responses without a body once in the top-level responses section and reference them from operations.
+     * @return this
+     */
+    public ODLPathHandlerBuilder withSharedResponses() {
+        sharedResponses = true;
+        return this;
+    }
+
     @Override
     public void configure(SchemaContext ctx, Swagger target, DataObjectBuilder builder) {
         Objects.requireNonNull(ctx);
@@ -50,6 +74,8 @@ public class ODLPathHandlerBuilder implements com.mrv.yangtools.codegen.PathHand
         objBuilder = builder;
         this.ctx = ctx;
         this.target = target;
+        this.parameters = sharedParameters ? new SharedParameters(target) : null;
+        this.responses = sharedResponses ? new SharedResponses(target) : null;
     }
 
     @Override
@@ -16,7 +16,6 @@ import com.mrv.yangtools.codegen.PathSegment;
 import io.swagger.models.parameters.Parameter;
 
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -29,6 +28,8 @@ public class ODLRestconfPathPrinter extends PathPrinter {
     private static final Function<Collection<? extends Parameter>, String> param =
 			params -> params.isEmpty() ? "/" : "/" + params.stream().map(p -> p.getName()).collect(Collectors.joining("/")) + "/";
 
+    private static final Object DIALECT = new Object();
+
     public ODLRestconfPathPrinter(PathSegment path) {
         this(path, false);
     }
@@ -48,24 +49,24 @@ public class ODLRestconfPathPrinter extends PathPrinter {
         return (moduleName != null && !moduleName.isEmpty() ? moduleName + ":" : "") + seg.getName() + paramWriter.apply(seg.getParam());
     }
 
+    /**
+     * @return key of the segments rendered by this printer cached in {@link PathSegment}
+     */
+    protected Object dialect() {
+        return DIALECT;
+    }
+
     /**
      *
      * @return for full path
      */
     @Override
     public String path() {
-        LinkedList<PathSegment> result = new LinkedList<>();
-
-        PathSegment parent = path.drop();
-
-        String lastSegment = segment(lastParamPrinter, path.getModuleName(), path);
-
-        for(PathSegment p : parent) {
-            result.addFirst(p);
+        Function<PathSegment, String> printer = s -> segment(paramPrinter, s.getModuleName(), s);
+        if(lastParamPrinter == paramPrinter) {
+            return path.render(dialect(), printer);
         }
-
-        return result.stream().map(s -> segment(paramPrinter, s.getModuleName(), s)).collect(Collectors.joining()) + lastSegment;
-
+        return path.drop().render(dialect(), printer) + segment(lastParamPrinter, path.getModuleName(), path);
     }
 
 }
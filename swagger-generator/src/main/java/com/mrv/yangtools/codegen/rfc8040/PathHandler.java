@@ -18,6 +18,8 @@ import com.mrv.yangtools.codegen.impl.DeleteOperationGenerator;
 import com.mrv.yangtools.codegen.impl.GetOperationGenerator;
 import com.mrv.yangtools.codegen.impl.PostOperationGenerator;
 import com.mrv.yangtools.codegen.impl.PutOperationGenerator;
+import com.mrv.yangtools.codegen.impl.SharedParameters;
+import com.mrv.yangtools.codegen.impl.SharedResponses;
 import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.properties.RefProperty;
@@ -44,8 +46,11 @@ class PathHandler implements com.mrv.yangtools.codegen.PathHandler {
     private final DataObjectBuilder dataObjectBuilder;
     private final Set<TagGenerator> tagGenerators;
     private final  boolean fullCrud;
+    private final SharedParameters parameters;
+    private final SharedResponses responses;
 
-    PathHandler(SchemaContext ctx, Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, boolean fullCrud) {
+    PathHandler(SchemaContext ctx, Module modules, Swagger target, DataObjectBuilder objBuilder, Set<TagGenerator> generators, boolean fullCrud,
+            SharedParameters parameters, SharedResponses responses) {
         this.swagger = target;
         this.ctx = ctx;
         this.module = modules;
@@ -54,6 +59,8 @@ class PathHandler implements com.mrv.yangtools.codegen.PathHandler {
         this.dataObjectBuilder = objBuilder;
         this.tagGenerators = generators;
         this.fullCrud = fullCrud;
+        this.parameters = parameters;
+        this.responses = responses;
     }
 
 
@@ -63,7 +70,7 @@ class PathHandler implements com.mrv.yangtools.codegen.PathHandler {
         //TODO pluggable PathPrinter
         Restconf14PathPrinter printer = new Restconf14PathPrinter(pathCtx, false);
 
-        swagger.path(data + printer.path(), path);
+        swagger.path(data + printer.path(), share(path));
     }
 
     protected Path operations(DataSchemaNode node, PathSegment pathCtx) {
@@ -85,11 +92,8 @@ class PathHandler implements com.mrv.yangtools.codegen.PathHandler {
     public void path(ListSchemaNode lN, PathSegment pathCtx) {
         final Path path = operations(lN, pathCtx);
 
-        List<String> tags = tags(pathCtx);
-        tags.add(module.getName());
-
         Restconf14PathPrinter printer = new Restconf14PathPrinter(pathCtx, false);
-        swagger.path(data + printer.path(), path);
+        swagger.path(data + printer.path(), share(path));
 
         //yes I know it can be written in previous 'if statement' but at some point it is to be refactored
         if(!fullCrud || pathCtx.isReadOnly()) return;
@@ -101,7 +105,7 @@ class PathHandler implements com.mrv.yangtools.codegen.PathHandler {
 
 
         Restconf14PathPrinter postPrinter = new Restconf14PathPrinter(pathCtx, false, true);
-        swagger.path(data + postPrinter.path(), list);
+        swagger.path(data + postPrinter.path(), share(list));
     }
 
     @Override
@@ -133,7 +137,13 @@ class PathHandler implements com.mrv.yangtools.codegen.PathHandler {
                     .description(description));
         }
         post.response(201, new Response().description("No response")); //no output body
-        swagger.path(operations + printer.path(), new Path().post(post));
+        swagger.path(operations + printer.path(), share(new Path().post(post)));
+    }
+
+    private Path share(Path path) {
+        if(parameters != null) parameters.share(path);
+        if(responses != null) responses.share(path);
+        return path;
     }
 
     private List<String> tags(PathSegment pathCtx) {
@@ -16,7 +16,6 @@ import com.mrv.yangtools.codegen.PathSegment;
 import io.swagger.models.parameters.Parameter;
 
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -31,6 +30,9 @@ public class Restconf14PathPrinter extends PathPrinter {
             params -> params.isEmpty() ? "/" :
                     "=" + params.stream().map(p -> "{" + p.getName() + "}").collect(Collectors.joining(",")) + "/";
 
+    private static final Object PLAIN = new Object();
+    private static final Object WITH_MODULES = new Object();
+
     private final boolean useModuleName;
 
     public Restconf14PathPrinter(PathSegment path, boolean useModuleName) {
@@ -53,24 +55,26 @@ public class Restconf14PathPrinter extends PathPrinter {
         return (useModuleName && moduleName != null && !moduleName.isEmpty() ? moduleName + ":" : "") + seg.getName() + paramWriter.apply(seg.getParam());
     }
 
+    /**
+     * Segments rendered with the same dialect are shared between printers through {@link PathSegment#render}.
+     * Subclasses that render segments differently have to use their own dialects.
+     * @return dialect of the printer
+     */
+    protected Object dialect() {
+        return useModuleName ? WITH_MODULES : PLAIN;
+    }
+
     /**
      *
      * @return for full path
      */
     @Override
     public String path() {
-        LinkedList<PathSegment> result = new LinkedList<>();
-
-        PathSegment parent = path.drop();
-
-        String lastSegment = segment(lastParamPrinter, path.getModuleName(), path);
-
-        for(PathSegment p : parent) {
-            result.addFirst(p);
+        Function<PathSegment, String> printer = s -> segment(paramPrinter, s.getModuleName(), s);
+        if(lastParamPrinter == paramPrinter) {
+            return path.render(dialect(), printer);
         }
-
-        return result.stream().map(s -> segment(paramPrinter, s.getModuleName(), s)).collect(Collectors.joining()) + lastSegment;
-
+        return path.drop().render(dialect(), printer) + segment(lastParamPrinter, path.getModuleName(), path);
     }
 
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.codegen.impl.postprocessor.CompactModels;
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.util.Yaml;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class CompactModelsTest {
+
+    @Test
+    public void testCompactedModelsAreEquivalent() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("example"));
+
+        //when
+        Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate();
+        Swagger compacted = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().compact().generate();
+
+        //then
+        assertEquals(Yaml.mapper().writeValueAsString(regular), Yaml.mapper().writeValueAsString(compacted));
+        assertTrue(properties(compacted).size() < properties(regular).size());
+    }
+
+    @Test
+    public void testInlineObjectsAreNotShared() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("rpc-basic.yang"));
+
+        //when
+        Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .strategy(SwaggerGenerator.Strategy.unpacking).generate();
+        Swagger compacted = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .strategy(SwaggerGenerator.Strategy.unpacking).compact().generate();
+
+        //then
+        assertEquals(Yaml.mapper().writeValueAsString(regular), Yaml.mapper().writeValueAsString(compacted));
+    }
+
+    @Test
+    public void testEqualPropertiesAreShared() {
+        //having
+        Swagger swagger = swagger(new StringProperty().description("d"), new StringProperty().description("d"));
+
+        //when
+        new CompactModels().accept(swagger);
+
+        //then
+        assertSame(property(swagger, "a"), property(swagger, "b"));
+    }
+
+    @Test
+    public void testPropertiesWithDifferentExtensionsAreNotShared() {
+        //having
+        StringProperty a = new StringProperty();
+        a.setVendorExtension("x-path", "/a");
+        StringProperty b = new StringProperty();
+        b.setVendorExtension("x-path", "/b");
+        Swagger swagger = swagger(a, b);
+
+        //when
+        new CompactModels().accept(swagger);
+
+        //then
+        assertNotSame(property(swagger, "a"), property(swagger, "b"));
+        assertEquals("/b", property(swagger, "b").getVendorExtensions().get("x-path"));
+    }
+
+    @Test
+    public void testRequiredAndOptionalPropertiesAreNotShared() {
+        //having
+        StringProperty a = new StringProperty();
+        a.setRequired(true);
+        Swagger swagger = swagger(a, new StringProperty());
+
+        //when
+        new CompactModels().accept(swagger);
+
+        //then
+        assertNotSame(property(swagger, "a"), property(swagger, "b"));
+        assertEquals(Collections.singletonList("a"), ((ModelImpl) swagger.getDefinitions().get("model")).getRequired());
+    }
+
+    @Test
+    public void testPropertiesWithDifferentEnumsAreNotShared() {
+        //having
+        Swagger swagger = swagger(new StringProperty()._enum(Arrays.asList("x", "y")), new StringProperty()._enum("z"));
+
+        //when
+        new CompactModels().accept(swagger);
+
+        //then
+        assertNotSame(property(swagger, "a"), property(swagger, "b"));
+        assertEquals(Collections.singletonList("z"), ((StringProperty) property(swagger, "b")).getEnum());
+    }
+
+    private static Swagger swagger(Property a, Property b) {
+        ModelImpl model = new ModelImpl();
+        model.property("a", a);
+        model.property("b", b);
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("model", model);
+        return swagger;
+    }
+
+    private static Property property(Swagger swagger, String name) {
+        return swagger.getDefinitions().get("model").getProperties().get(name);
+    }
+
+    private static Set<Property> properties(Swagger swagger) {
+        Set<Property> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        swagger.getDefinitions().values().stream()
+                .map(m -> m.getProperties() == null ? Collections.<String, Property>emptyMap() : m.getProperties())
+                .map(Map::values)
+                .forEach(result::addAll);
+        return result;
+    }
+}
@@ -15,11 +15,15 @@ import com.mrv.yangtools.codegen.impl.*;
 import com.mrv.yangtools.common.ContextHelper;
 import io.swagger.models.Model;
 import io.swagger.models.Swagger;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -27,11 +31,14 @@ import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
 import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.effective.ListEffectiveStatementImpl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Function;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.any;
@@ -91,6 +98,45 @@ public class DataObjectsBuilderTest {
 
     }
 
+    @Test
+    public void testInlineStructuresWithRelativeLeafrefs() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("relative-leafref.yang"));
+        Module module = ctx.getModules().iterator().next();
+        Swagger swagger = new Swagger();
+        UnpackingDataObjectsBuilder builder = new UnpackingDataObjectsBuilder(ctx, swagger, new AnnotatingTypeConverter(ctx));
+        builder.processModule(module);
+
+        //when
+        builder.addModel((ContainerSchemaNode) module.getDataChildByName(QName.create(module.getQNameModule(), "first")));
+        builder.addModel((ContainerSchemaNode) module.getDataChildByName(QName.create(module.getQNameModule(), "second")));
+
+        //then
+        assertEquals("string", addressId(swagger, "relative.leafref.First").getType());
+        assertEquals("integer", addressId(swagger, "relative.leafref.Second").getType());
+    }
+
+    @Test
+    public void testNodesWithoutPropertiesAreSkipped() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("with-anyxml.yang"));
+        Module module = ctx.getModules().iterator().next();
+        Swagger swagger = new Swagger();
+        OptimizingDataObjectBuilder builder = new OptimizingDataObjectBuilder(ctx, swagger, new AnnotatingTypeConverter(ctx));
+        builder.processModule(module);
+
+        //when
+        builder.addModel((ContainerSchemaNode) module.getDataChildByName(QName.create(module.getQNameModule(), "message")));
+
+        //then
+        assertEquals(Arrays.asList("id", "text"), new ArrayList<>(swagger.getDefinitions().get("with.anyxml.Message").getProperties().keySet()));
+    }
+
+    private static Property addressId(Swagger swagger, String definition) {
+        ObjectProperty address = (ObjectProperty) swagger.getDefinitions().get(definition).getProperties().get("address");
+        return address.getProperties().get("id");
+    }
+
     @SuppressWarnings("unchecked")
     protected <T extends SchemaNode & DataNodeContainer> boolean namesMeetNodes(DataObjectRepo builder, Function<T, Boolean> considerNode, Set<String> requiredNames) {
         return ! DataNodeHelper.stream(groupings).map(x -> (T)x).filter(considerNode::apply)
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.util.Yaml;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class DeduplicatingStrategyTest {
+
+    @Test
+    public void testEquivalentDefinitionsAreMerged() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("copied-containers"));
+
+        //when
+        Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate();
+        Swagger deduplicated = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .strategy(SwaggerGenerator.Strategy.deduplicating).generate();
+
+        //then
+        assertEquals(new HashSet<>(Arrays.asList("copied.a.Settings", "copied.a.settings.Limits",
+                "copied.b.Settings", "copied.b.settings.Limits", "copied.b.Other")), regular.getDefinitions().keySet());
+        assertEquals(new HashSet<>(Arrays.asList("copied.a.Settings", "copied.a.settings.Limits",
+                "copied.b.Settings", "copied.b.Other")), deduplicated.getDefinitions().keySet());
+        assertEquals("copied.a.settings.Limits", ref(deduplicated, "copied.b.Settings", "limits"));
+        assertEquals("name of b", deduplicated.getDefinitions().get("copied.b.Settings").getProperties().get("name").getDescription());
+        assertFalse(Yaml.mapper().writeValueAsString(deduplicated).contains("copied.b.settings.Limits"));
+    }
+
+    @Test
+    public void testDescriptionsIgnored() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("copied-containers"));
+
+        //when
+        Swagger deduplicated = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .deduplicating(true).generate();
+
+        //then
+        assertEquals(new HashSet<>(Arrays.asList("copied.a.Settings", "copied.a.settings.Limits", "copied.b.Other")),
+                deduplicated.getDefinitions().keySet());
+        String yaml = Yaml.mapper().writeValueAsString(deduplicated);
+        assertFalse(yaml.contains("copied.b.Settings"));
+        assertFalse(yaml.contains("copied.b.settings.Limits"));
+    }
+
+    private static String ref(Swagger swagger, String definition, String property) {
+        return ((RefProperty) swagger.getDefinitions().get(definition).getProperties().get(property)).getSimpleRef();
+    }
+}
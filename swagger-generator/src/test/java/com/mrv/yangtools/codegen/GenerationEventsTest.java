@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.common.ContextHelper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class GenerationEventsTest {
+
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        //having
+        Path file = Files.createTempFile("yangtools", ".jfr");
+        List<RecordedEvent> events;
+
+        //when
+        try(Recording recording = new Recording()) {
+            recording.enable("com.mrv.yangtools.Generation");
+            recording.start();
+            SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("example"));
+            new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate(new StringWriter());
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+
+        //then
+        Set<String> operations = events.stream().map(e -> e.getString("operation")).collect(Collectors.toSet());
+        assertTrue(operations.containsAll(Arrays.asList("parse", "processModule", "paths", "model",
+                "fromAugmentation", "postprocessor", "serialization")));
+        assertTrue(events.stream().anyMatch(e -> "model".equals(e.getString("operation"))
+                && "base".equals(e.getString("module")) && e.getString("node") != null));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.codegen.impl.SummaryReporter;
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.Swagger;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class GenerationListenerTest {
+
+    @Test
+    public void testPhasesAndNodesReported() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("simplest.yang"));
+        List<String> events = new ArrayList<>();
+        List<String> nodes = new ArrayList<>();
+        List<Swagger> generated = new ArrayList<>();
+        SummaryReporter reporter = new SummaryReporter();
+
+        //when
+        SwaggerGenerator generator = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .listener(new GenerationListener() {
+                    @Override
+                    public void phaseStarted(Phase phase, String name) {
+                        events.add("+" + phase + ":" + name);
+                    }
+
+                    @Override
+                    public void phaseFinished(Phase phase, String name, long nanos) {
+                        assertTrue(nanos >= 0);
+                        events.add("-" + phase + ":" + name);
+                    }
+
+                    @Override
+                    public void nodeVisited(String module, DataSchemaNode node, long nanos, int models, int paths) {
+                        nodes.add(node.getQName().getLocalName());
+                    }
+
+                    @Override
+                    public void generated(Swagger swagger, long nanos) {
+                        generated.add(swagger);
+                    }
+                })
+                .listener(reporter);
+        generator.generate(new StringWriter());
+
+        //then
+        assertEquals("+PROCESS_MODULE:simplest", events.get(0));
+        assertEquals("-PROCESS_MODULE:simplest", events.get(1));
+        assertEquals("+PATHS:simplest", events.get(2));
+        assertTrue(events.contains("-POSTPROCESSOR:ReplaceEmptyWithParent"));
+        assertTrue(events.contains("-POSTPROCESSOR:SortDefinitions"));
+        assertTrue(events.contains("-SERIALIZATION:YAML"));
+        assertTrue(nodes.contains("simple-root"));
+
+        assertEquals(1, generated.size());
+        Swagger swagger = generated.get(0);
+        assertEquals(swagger.getDefinitions().size(), reporter.getDefinitions());
+        assertEquals(swagger.getPaths().size(), reporter.getPaths());
+        assertTrue(reporter.getNanos(GenerationListener.Phase.PATHS) > 0);
+        assertFalse(reporter.getSlowest().isEmpty());
+        assertTrue(reporter.summary().contains("simplest:/"));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.RefProperty;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class InternEnumsTest {
+
+    @Test
+    public void testEnumsWithSameValuesAreShared() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("enum-values"));
+
+        //when
+        Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate();
+        Swagger interned = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().internEnums().generate();
+
+        //then
+        assertEquals(4, enums(regular).size());
+        assertEquals(2, enums(interned).size());
+        String admin = ref(interned, "enum.values.a.A", "admin");
+        assertEquals(admin, ref(interned, "enum.values.a.A", "oper"));
+        assertEquals(admin, ref(interned, "enum.values.b.B", "state"));
+        assertNotEquals(admin, ref(interned, "enum.values.a.A", "reversed"));
+    }
+
+    @Test
+    public void testNamingHint() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("enum-values"));
+
+        //when
+        Swagger interned = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .internEnums(values -> values.equals(Arrays.asList("enabled", "disabled")) ? "common.State" : null)
+                .generate();
+
+        //then
+        assertTrue(enums(interned).contains("common.State"));
+        assertEquals("common.State", ref(interned, "enum.values.b.B", "state"));
+        assertEquals(2, enums(interned).size());
+    }
+
+    @Test
+    public void testNamingHintDoesNotReplaceDefinitions() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("enum-values"));
+
+        //when
+        Swagger interned = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .internEnums(values -> values.equals(Arrays.asList("enabled", "disabled")) ? "enum.values.b.B" : null)
+                .generate();
+
+        //then
+        assertTrue(interned.getDefinitions().get("enum.values.b.B").getProperties().containsKey("state"));
+        assertEquals("enum.values.b.B1", ref(interned, "enum.values.b.B", "state"));
+    }
+
+    private static Set<String> enums(Swagger swagger) {
+        return swagger.getDefinitions().entrySet().stream()
+                .filter(e -> e.getValue() instanceof ModelImpl && ((ModelImpl) e.getValue()).getEnum() != null)
+                .map(e -> e.getKey()).collect(Collectors.toSet());
+    }
+
+    private static String ref(Swagger swagger, String definition, String property) {
+        return ((RefProperty) swagger.getDefinitions().get(definition).getProperties().get(property)).getSimpleRef();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrv.yangtools.codegen.odl.ODLPathHandlerBuilder;
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class OutputTargetTest {
+
+    @Test
+    public void testManyTargetsFromSingleRun() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("example"));
+        Swagger rfc = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate();
+        Swagger odl = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .pathHandler(new ODLPathHandlerBuilder()).generate();
+
+        Map<String, StringWriter> outputs = new ConcurrentHashMap<>();
+
+        //when
+        new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate(Arrays.asList(
+                new OutputTarget("rfc", m -> writer(outputs, "rfc")).format(SwaggerGenerator.Format.JSON),
+                new OutputTarget("odl", m -> writer(outputs, "odl")).pathHandler(new ODLPathHandlerBuilder()),
+                new OutputTarget("module", m -> writer(outputs, m)).perModule()
+        ));
+
+        //then
+        assertEquals(rfc.getPaths().keySet(), read(outputs.get("rfc"), Json.mapper()).getPaths().keySet());
+        assertEquals(rfc.getDefinitions().keySet(), read(outputs.get("rfc"), Json.mapper()).getDefinitions().keySet());
+        assertEquals(odl.getPaths().keySet(), read(outputs.get("odl"), Yaml.mapper()).getPaths().keySet());
+        assertEquals(odl.getDefinitions().keySet(), read(outputs.get("odl"), Yaml.mapper()).getDefinitions().keySet());
+
+        //all data nodes are defined in base, other modules augment it only
+        Swagger base = read(outputs.get("base"), Yaml.mapper());
+        assertEquals(rfc.getPaths().keySet(), base.getPaths().keySet());
+        assertEquals(rfc.getDefinitions().keySet(), base.getDefinitions().keySet());
+        assertNull(read(outputs.get("extension-of-base"), Yaml.mapper()).getPaths());
+    }
+
+    private static StringWriter writer(Map<String, StringWriter> outputs, String key) {
+        StringWriter writer = new StringWriter();
+        assertNull(outputs.put(key, writer));
+        return writer;
+    }
+
+    private static Swagger read(StringWriter writer, ObjectMapper mapper) throws IOException {
+        return mapper.readValue(writer.toString(), Swagger.class);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.util.Yaml;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class ParallelModelsTest {
+
+    @Test
+    public void testParallelBuildIsEquivalent() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("example"));
+
+        //when
+        Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().strategy(SwaggerGenerator.Strategy.optimizing).generate();
+        Swagger parallel = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().strategy(SwaggerGenerator.Strategy.optimizing).parallel().generate();
+
+        //then
+        assertEquals(regular.getDefinitions().keySet().toString(), parallel.getDefinitions().keySet().toString());
+        assertEquals(Yaml.mapper().writeValueAsString(regular), Yaml.mapper().writeValueAsString(parallel));
+    }
+
+    @Test
+    public void testEnumsWithCollidingNames() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("colliding-enums.yang"));
+
+        //when
+        Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().strategy(SwaggerGenerator.Strategy.optimizing).generate();
+        Swagger parallel = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().strategy(SwaggerGenerator.Strategy.optimizing).parallel().generate();
+
+        //then
+        assertEquals(Yaml.mapper().writeValueAsString(regular), Yaml.mapper().writeValueAsString(parallel));
+        assertEquals(Arrays.asList("up", "down"), values(parallel, "colliding.enums.First"));
+        assertEquals(Arrays.asList("enabled", "disabled"), values(parallel, "colliding.enums.Second"));
+        assertNotEquals(ref(parallel, "colliding.enums.First"), ref(parallel, "colliding.enums.Second"));
+    }
+
+    @Test
+    public void testInternedEnums() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("colliding-enums.yang"));
+
+        //when
+        Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().strategy(SwaggerGenerator.Strategy.optimizing)
+                .internEnums().generate();
+        Swagger parallel = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().strategy(SwaggerGenerator.Strategy.optimizing)
+                .internEnums().parallel().generate();
+
+        //then
+        assertEquals(Yaml.mapper().writeValueAsString(regular), Yaml.mapper().writeValueAsString(parallel));
+        assertEquals(ref(parallel, "colliding.enums.Second"), ref(parallel, "colliding.enums.Third"));
+        assertEquals(2, parallel.getDefinitions().values().stream()
+                .filter(m -> m instanceof ModelImpl && ((ModelImpl) m).getEnum() != null).count());
+    }
+
+    @Test
+    public void testEquivalentAugmentationsInSubtrees() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("augmented-subtrees.yang"));
+
+        for(SwaggerGenerator.Strategy strategy : Arrays.asList(SwaggerGenerator.Strategy.optimizing, SwaggerGenerator.Strategy.deduplicating)) {
+            //when
+            Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().strategy(strategy).generate();
+            Swagger parallel = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().strategy(strategy).parallel().generate();
+
+            //then
+            assertEquals(regular.getDefinitions().keySet().toString(), parallel.getDefinitions().keySet().toString());
+            assertEquals(Yaml.mapper().writeValueAsString(regular), Yaml.mapper().writeValueAsString(parallel));
+        }
+    }
+
+    private static String ref(Swagger swagger, String definition) {
+        return ((RefProperty) swagger.getDefinitions().get(definition).getProperties().get("state")).getSimpleRef();
+    }
+
+    private static List<String> values(Swagger swagger, String definition) {
+        return ((ModelImpl) swagger.getDefinitions().get(ref(swagger, definition))).getEnum();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.codegen.impl.ModuleFingerprint;
+import com.mrv.yangtools.codegen.impl.SchemaContextIndex;
+import com.mrv.yangtools.codegen.impl.SchemaContextRegistry;
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.Swagger;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class SchemaContextRegistryTest {
+
+    @Test
+    public void testEquivalentContextsShareIndex() throws ReactorException {
+        //having
+        SchemaContextRegistry registry = new SchemaContextRegistry(2);
+        SchemaContext first = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("with-groupings.yang"));
+        SchemaContext second = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("with-groupings.yang"));
+        SchemaContext other = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("simplest.yang"));
+
+        //when
+        SchemaContextIndex index = registry.index(first);
+
+        //then
+        assertSame(index, registry.index(second));
+        assertSame(first, registry.index(second).getContext());
+        assertNotSame(index, registry.index(other));
+    }
+
+    @Test
+    public void testGenerateWithEquivalentContext() throws ReactorException {
+        //having
+        SchemaContextRegistry registry = new SchemaContextRegistry(1);
+        SchemaContext first = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("with-groupings.yang"));
+        SchemaContext second = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("with-groupings.yang"));
+
+        Swagger expected = new SwaggerGenerator(registry.index(first), first.getModules()).defaultConfig().generate();
+
+        //when
+        Swagger swagger = new SwaggerGenerator(registry.index(second), second.getModules()).defaultConfig().generate();
+
+        //then
+        assertEquals(expected.getDefinitions().keySet(), swagger.getDefinitions().keySet());
+        assertEquals(expected.getPaths().keySet(), swagger.getPaths().keySet());
+    }
+
+    @Test
+    public void testModuleFingerprint() throws ReactorException {
+        //having
+        SchemaContext first = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("with-groupings.yang"));
+        SchemaContext second = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("with-groupings.yang"));
+        SchemaContext other = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("simplest.yang"));
+
+        //when
+        String fingerprint = ModuleFingerprint.of(first.getModules().iterator().next());
+
+        //then
+        assertEquals(fingerprint, ModuleFingerprint.of(second.getModules().iterator().next()));
+        assertNotEquals(fingerprint, ModuleFingerprint.of(other.getModules().iterator().next()));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.codegen.odl.ODLPathHandlerBuilder;
+import com.mrv.yangtools.codegen.rfc8040.PathHandlerBuilder;
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.Operation;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.RefParameter;
+import io.swagger.util.Yaml;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class SharedParametersTest {
+
+    @Test
+    public void testPathParametersAreReferenced() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("example"));
+
+        //when
+        Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate();
+        Swagger shared = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .pathHandler(new PathHandlerBuilder().withSharedParameters()).generate();
+
+        //then
+        assertEquals(3, shared.getParameters().size());
+        assertTrue(shared.getParameters().containsKey("uuid"));
+        assertTrue(shared.getParameters().containsKey("uuid1"));
+        assertEquals(regular.getPaths().keySet(), shared.getPaths().keySet());
+        regular.getPaths().forEach((name, path) -> {
+            List<Operation> operations = shared.getPath(name).getOperations();
+            for(int i = 0; i < operations.size(); i++) {
+                List<Parameter> params = operations.get(i).getParameters();
+                assertFalse(params.stream().anyMatch(p -> p instanceof PathParameter));
+                assertEquals(path.getOperations().get(i).getParameters(), resolve(shared, params));
+            }
+        });
+    }
+
+    @Test
+    public void testPerModuleOutputsDefineReferencedParameters() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("example"));
+        Map<String, StringWriter> outputs = new ConcurrentHashMap<>();
+
+        //when
+        new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate(Collections.singletonList(
+                new OutputTarget("module", m -> outputs.computeIfAbsent(m, k -> new StringWriter()))
+                        .pathHandler(new ODLPathHandlerBuilder().withSharedParameters()).perModule()
+        ));
+
+        //then
+        Swagger base = Yaml.mapper().readValue(outputs.get("base").toString(), Swagger.class);
+        assertFalse(base.getParameters().isEmpty());
+        base.getPaths().values().stream().flatMap(p -> p.getOperations().stream())
+                .forEach(o -> resolve(base, o.getParameters()).forEach(Objects::requireNonNull));
+    }
+
+    private static List<Parameter> resolve(Swagger swagger, List<Parameter> params) {
+        return params.stream()
+                .map(p -> p instanceof RefParameter ? swagger.getParameter(((RefParameter) p).getSimpleRef()) : p)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.codegen.odl.ODLPathHandlerBuilder;
+import com.mrv.yangtools.codegen.rfc8040.PathHandlerBuilder;
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.Operation;
+import io.swagger.models.RefResponse;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.util.Yaml;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+import java.io.StringWriter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author bartosz.michalik@amartus.com
+ */
+public class SharedResponsesTest {
+
+    @Test
+    public void testResponsesWithoutBodyAreReferenced() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getFileName().toString().equals("rpc-basic.yang"));
+
+        //when
+        Swagger regular = new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate();
+        StringWriter writer = new StringWriter();
+        new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig()
+                .pathHandler(new PathHandlerBuilder().withSharedResponses()).generate(writer);
+        Swagger shared = Yaml.mapper().readValue(writer.toString(), Swagger.class);
+
+        //then
+        assertEquals(new HashSet<>(Arrays.asList("InternalError", "ObjectCreated", "ObjectModified",
+                "ObjectAlreadyExists", "ObjectDeleted", "NoResponse")), shared.getResponses().keySet());
+        assertEquals(regular.getPaths().keySet(), shared.getPaths().keySet());
+        regular.getPaths().forEach((name, path) -> {
+            List<Operation> operations = shared.getPath(name).getOperations();
+            for(int i = 0; i < operations.size(); i++) {
+                Map<String, Response> responses = operations.get(i).getResponses();
+                assertTrue(responses.get("400") instanceof RefResponse);
+                assertEquals(path.getOperations().get(i).getResponses(), resolve(shared, responses));
+            }
+        });
+    }
+
+    @Test
+    public void testPerModuleOutputsDefineReferencedResponses() throws Exception {
+        //having
+        SchemaContext ctx = ContextHelper.getFromClasspath(p -> p.getParent().getFileName().toString().equals("example"));
+        Map<String, StringWriter> outputs = new ConcurrentHashMap<>();
+
+        //when
+        new SwaggerGenerator(ctx, ctx.getModules()).defaultConfig().generate(Collections.singletonList(
+                new OutputTarget("module", m -> outputs.computeIfAbsent(m, k -> new StringWriter()))
+                        .pathHandler(new ODLPathHandlerBuilder().withSharedParameters().withSharedResponses()).perModule()
+        ));
+
+        //then
+        Swagger base = Yaml.mapper().readValue(outputs.get("base").toString(), Swagger.class);
+        assertFalse(base.getResponses().isEmpty());
+        base.getPaths().values().stream().flatMap(p -> p.getOperations().stream())
+                .forEach(o -> resolve(base, o.getResponses()).values().forEach(Objects::requireNonNull));
+    }
+
+    private static Map<String, Response> resolve(Swagger swagger, Map<String, Response> responses) {
+        return responses.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue() instanceof RefResponse ?
+                swagger.getResponses().get(((RefResponse) e.getValue()).getSimpleRef()) : e.getValue()));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2016 MRV Communications, Inc. All rights reserved.
+ *  This program and the accompanying materials are made available under the
+ *  terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ *  and is available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Christopher Murch <cmurch@mrv.com>
+ *      Bartosz Michalik <bartosz.michalik@amartus.com>
+ */
+
+package com.mrv.yangtools.codegen;
+
+import com.mrv.yangtools.codegen.impl.AnnotatingTypeConverter;
+import com.mrv.yangtools.codegen.impl.DataNodeHelper;
+import com.mrv.yangtools.codegen.impl.OptimizingDataObjectBuilder;
+import com.mrv.yangtools.codegen.impl.UnpackingDataObjectsBuilder;
+import com.mrv.yangtools.common.ContextHelper;
+import io.swagger.models.Swagger;
+import org.opendaylight.yangtools.yang.model.api.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Measures bytes allocated to build models of all containers and lists of the given YANG modules.
+ * Allocations of module processing are not included.
+ * Not run as a part of the build, use it with YANG directory as an argument (test resources by default), e.g.
+ * <code>java -cp ... com.mrv.yangtools.codegen.StructureAllocationBenchmark path/to/yang</code>
+ * @author bartosz.michalik@amartus.com
+ */
+public class StructureAllocationBenchmark {
+    private static final int WARMUP = 20;
+    private static final int RUNS = 50;
+
+    public static void main(String[] args) throws Exception {
+        String dir = args.length > 0 ? args[0] : "swagger-generator/src/test/resources/example";
+        SchemaContext ctx = ContextHelper.getFromDir(Paths.get(dir), p -> p.toString().endsWith(".yang"));
+
+        measure("optimizing", ctx, swagger -> new OptimizingDataObjectBuilder(ctx, swagger, new AnnotatingTypeConverter(ctx)));
+        measure("unpacking", ctx, swagger -> new UnpackingDataObjectsBuilder(ctx, swagger, new AnnotatingTypeConverter(ctx)));
+    }
+
+    private static void measure(String name, SchemaContext ctx, Function<Swagger, DataObjectBuilder> builder) {
+        List<DataNodeContainer> nodes = ctx.getModules().stream()
+                .flatMap(DataNodeHelper::stream)
+                .filter(n -> n instanceof ContainerSchemaNode || n instanceof ListSchemaNode)
+                .map(n -> (DataNodeContainer) n)
+                .collect(Collectors.toList());
+
+        for(int i = 0; i < WARMUP; i++) build(ctx, nodes, builder);
+
+        long allocated = (allocated(() -> build(ctx, nodes, builder)) - allocated(() -> build(ctx, Collections.emptyList(), builder))) / RUNS;
+
+        System.out.printf("%s: %d models, %d KB per run, %d B per model%n", name, nodes.size(), allocated / 1024,
+                nodes.isEmpty() ? 0 : allocated / nodes.size());
+    }
+
+    private static long allocated(Runnable run) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for(int i = 0; i < RUNS; i++) run.run();
+        return threads.getThreadAllocatedBytes(thread) - before;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends SchemaNode & DataNodeContainer> void build(SchemaContext ctx, List<DataNodeContainer> nodes,
+                                                                        Function<Swagger, DataObjectBuilder> builder) {
+        DataObjectBuilder b = builder.apply(new Swagger());
+        ctx.getModules().forEach(b::processModule);
+        nodes.forEach(n -> b.build((T) n));
+    }
+}
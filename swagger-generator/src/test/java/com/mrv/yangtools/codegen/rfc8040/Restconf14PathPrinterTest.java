@@ -12,6 +12,7 @@
 package com.mrv.yangtools.codegen.rfc8040;
 
 import com.mrv.yangtools.codegen.PathSegment;
+import com.mrv.yangtools.codegen.odl.ODLRestconfPathPrinter;
 import com.mrv.yangtools.codegen.rfc8040.Restconf14PathPrinter;
 import com.mrv.yangtools.test.utils.MockNodeBuilder;
 import org.junit.Test;
@@ -83,4 +84,42 @@ public class Restconf14PathPrinterTest {
         assertEquals("a/b={x},{y}/c/", new Restconf14PathPrinter(c, false).path());
     }
 
+    @Test
+    public void renderedPrefixesPerDialect() throws Exception {
+        PathSegment a = new PathSegment(mock(SchemaContext.class))
+                .withName("a")
+                .withModule("mod1");
+        PathSegment b = new PathSegment(a).withName("b")
+                .withListNode(new MockNodeBuilder("test")
+                        .param("x")
+                        .build()
+                );
+        PathSegment c = new PathSegment(b).withName("c");
+        PathSegment d = new PathSegment(b).withName("d").withModule("mod2");
+
+        assertEquals("a/b={x}/", new Restconf14PathPrinter(b, false).path());
+        assertEquals("mod1:a/mod1:b/x/mod1:c/", new ODLRestconfPathPrinter(c).path());
+        assertEquals("a/b={x}/c/", new Restconf14PathPrinter(c, false).path());
+        assertEquals("mod1:a/mod1:b={x}/mod2:d/", new Restconf14PathPrinter(d, true).path());
+        assertEquals("a/b={x}/d/", new Restconf14PathPrinter(d, false).path());
+        assertEquals("a/b/", new Restconf14PathPrinter(b, false, true).path());
+    }
+
+    @Test
+    public void modifiedSegmentsAreRenderedAgain() throws Exception {
+        PathSegment a = new PathSegment(mock(SchemaContext.class)).withName("a");
+        PathSegment b = new PathSegment(a).withName("b");
+        PathSegment c = new PathSegment(b).withName("c");
+
+        assertEquals("a/b/c/", new Restconf14PathPrinter(c, false).path());
+
+        a.withName("x");
+        b.withListNode(new MockNodeBuilder("test")
+                .param("y")
+                .build()
+        );
+
+        assertEquals("x/b={y}/c/", new Restconf14PathPrinter(c, false).path());
+        assertEquals("x/b/", new Restconf14PathPrinter(b, false, true).path());
+    }
 }
\ No newline at end of file
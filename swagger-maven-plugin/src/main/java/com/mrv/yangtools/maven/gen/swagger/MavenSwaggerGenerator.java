@@ -12,8 +12,14 @@
 package com.mrv.yangtools.maven.gen.swagger;
 
 import com.google.common.base.Preconditions;
+import com.mrv.yangtools.codegen.OutputTarget;
+import com.mrv.yangtools.codegen.PathHandlerBuilder;
 import com.mrv.yangtools.codegen.SwaggerGenerator;
+import com.mrv.yangtools.codegen.impl.ModuleFingerprint;
+import com.mrv.yangtools.codegen.impl.SchemaContextIndex;
+import com.mrv.yangtools.codegen.impl.SchemaContextRegistry;
 import com.mrv.yangtools.codegen.impl.SegmentTagGenerator;
+import com.mrv.yangtools.codegen.odl.ODLPathHandlerBuilder;
 import org.apache.maven.project.MavenProject;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -22,10 +28,13 @@ import org.opendaylight.yangtools.yang2sources.spi.BuildContextAware;
 import org.opendaylight.yangtools.yang2sources.spi.MavenProjectAware;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonatype.plexus.build.incremental.BuildContext;
 
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.CodeSource;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -35,7 +44,19 @@ import java.util.stream.Collectors;
  * <ul>
  *     <li><code>generator-mime</code> - to specify comma-separated mime types (e.g. xml,json)</li>
  *     <li><code>generator-elements</code> - comma-separated list of {@link com.mrv.yangtools.codegen.SwaggerGenerator.Elements}
+ *     <li><code>generator-strategy</code> - {@link com.mrv.yangtools.codegen.SwaggerGenerator.Strategy} of model generation, optimizing by default</li>
+ *     <li><code>generator-ignore-descriptions</code> - <code>true</code> to merge definitions that differ only by descriptions
+ *     with deduplicating strategy</li>
+ *     <li><code>generator-outputs</code> - comma-separated list of outputs <code>name[:format[:style[:per-module]]]</code>
+ *     where format is json or yaml and style is rfc8040 (default) or odl, e.g. <code>api:json,api-odl:yaml:odl,api:yaml:rfc8040:per-module</code>.
+ *     Per module outputs are written to <code>name-module.format</code> files.
+ *     All outputs are produced from a single generator run.</li>
  * </ul>
+ * Context data computed by the generator is kept in {@link SchemaContextRegistry#shared()} so that executions in
+ * other modules of the build that see an equivalent {@link SchemaContext} reuse it.
+ * <p>
+ * A fingerprint of the inputs (YANG modules, the configuration and the generator version) is stored next to the generated file.
+ * If it has not changed since the last execution generation is skipped and the output is left untouched.
  * @author cmurch@mrv.com
  * @author bartosz.michalik@amartus.com
  */
@@ -49,8 +70,9 @@ public class MavenSwaggerGenerator implements BasicCodeGenerator, BuildContextAw
     public static final String DEFAULT_OUTPUT_BASE_DIR_PATH = "target" + File.separator + "generated-sources"
             + File.separator + "swagger-maven-api-gen";
     private File projectBaseDir;
-    private Map<String, String> additionalConfig;
+    private Map<String, String> additionalConfig = Collections.emptyMap();
     private File resourceBaseDir;
+    private BuildContext buildContext;
 
     @Override
     public Collection<File> generateSources(SchemaContext schemaContext, File outputDir, Set<Module> modules) throws IOException {
@@ -63,8 +85,6 @@ public class MavenSwaggerGenerator implements BasicCodeGenerator, BuildContextAw
         }
         String swaggerName = getAdditionalConfigOrDefault("base-module", "yang");
 
-        File output = new File(outputBaseDir, swaggerName + "." + getFileExtension());
-
         String version = getAdditionalConfigOrDefault("api-version", mavenProject.getVersion());
         List<String> mimes = Arrays.asList(getAdditionalConfigOrDefault("generator-mime", "json,xml").split(","));
         List<SwaggerGenerator.Elements> elements = Arrays.stream(getAdditionalConfigOrDefault("generator-elements", "DATA,RCP").split(","))
@@ -73,22 +93,91 @@ public class MavenSwaggerGenerator implements BasicCodeGenerator, BuildContextAw
 
 
 
-        try(FileWriter fileWriter = new FileWriter(output)) {
-            SwaggerGenerator generator = new SwaggerGenerator(schemaContext, modules)
-                    .format(format())
-                    .tagGenerator(new SegmentTagGenerator())
-            		.version(version);
-            mimes.forEach(m -> { generator.consumes("application/"+ m); generator.produces("application/"+ m);});
-            generator.elements(elements.toArray(new SwaggerGenerator.Elements[elements.size()]));
-            generator.generate(fileWriter);
+        File fingerprintFile = new File(outputBaseDir, "." + swaggerName + ".fingerprint");
+        String fingerprint = fingerprint(schemaContext, modules, version, mimes, elements);
+
+        Collection<File> previous = upToDate(outputBaseDir, fingerprintFile, fingerprint);
+        if(previous != null) {
+            log.info("{} is up to date, skipping generation", swaggerName);
+            return previous;
+        }
+
+        SchemaContextIndex index = SchemaContextRegistry.shared().index(schemaContext);
+
+        Collection<File> produced = Collections.synchronizedSortedSet(new TreeSet<>());
+        List<OutputTarget> outputs = outputs(swaggerName, outputBaseDir, produced);
+
+        SwaggerGenerator generator = new SwaggerGenerator(index, modules)
+                .version(version);
+        mimes.forEach(m -> { generator.consumes("application/"+ m); generator.produces("application/"+ m);});
+        generator.elements(elements.toArray(new SwaggerGenerator.Elements[elements.size()]));
+        strategy(generator);
+        generator.generate(outputs);
+
+        StringBuilder content = new StringBuilder(fingerprint);
+        produced.forEach(f -> content.append('\n').append(f.getName()));
+        try(OutputStream out = outputStream(fingerprintFile)) {
+            out.write(content.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        if(buildContext != null) produced.forEach(buildContext::refresh);
+
+        return produced;
+    }
+
+    /**
+     * Output targets declared with <code>generator-outputs</code> property.
+     * If not specified a single <code>base-module</code> target in the default format is generated.
+     */
+    private List<OutputTarget> outputs(String swaggerName, File outputBaseDir, Collection<File> produced) {
+        Map<String, PathHandlerBuilder> styles = new HashMap<>();
+        String outputs = getAdditionalConfigOrDefault("generator-outputs", swaggerName);
+        return Arrays.stream(outputs.split(",")).map(String::trim).filter(o -> !o.isEmpty())
+                .map(o -> {
+                    String[] spec = o.split(":");
+                    String name = spec[0];
+                    String extension = spec.length > 1 ? spec[1].toLowerCase() : getFileExtension();
+                    SwaggerGenerator.Format format = spec.length > 1 ? format(spec[1]) : format();
+                    String style = spec.length > 2 ? spec[2] : "rfc8040";
+                    if(spec.length > 3 && !"per-module".equals(spec[3])) {
+                        throw new IllegalStateException("unknown output option " + spec[3]);
+                    }
+
+                    OutputTarget target = new OutputTarget(name, module -> {
+                        File file = new File(outputBaseDir, (module == null ? name : name + "-" + module) + "." + extension);
+                        produced.add(file);
+                        return new OutputStreamWriter(outputStream(file), StandardCharsets.UTF_8);
+                    }).format(format).pathHandler(styles.computeIfAbsent(style, this::pathHandler));
+                    return spec.length > 3 ? target.perModule() : target;
+                }).collect(Collectors.toList());
+    }
+
+    private void strategy(SwaggerGenerator generator) {
+        SwaggerGenerator.Strategy strategy = SwaggerGenerator.Strategy.valueOf(getAdditionalConfigOrDefault("generator-strategy", "optimizing"));
+        boolean ignoreDescriptions = Boolean.parseBoolean(getAdditionalConfigOrDefault("generator-ignore-descriptions", "false"));
+        if(strategy == SwaggerGenerator.Strategy.deduplicating) {
+            generator.deduplicating(ignoreDescriptions);
+        } else {
+            if(ignoreDescriptions) log.warn("descriptions are ignored by deduplicating strategy only");
+            generator.strategy(strategy);
         }
+    }
 
-        return Collections.singleton(output);
+    private PathHandlerBuilder pathHandler(String style) {
+        PathHandlerBuilder builder;
+        if(style.equalsIgnoreCase("rfc8040")) {
+            builder = new com.mrv.yangtools.codegen.rfc8040.PathHandlerBuilder();
+        } else if(style.equalsIgnoreCase("odl")) {
+            builder = new ODLPathHandlerBuilder();
+        } else {
+            throw new IllegalStateException("unknown path style " + style);
+        }
+        builder.addTagGenerator(new SegmentTagGenerator());
+        return builder;
     }
 
     @Override
     public void setAdditionalConfig(Map<String, String> additionalConfiguration) {
-        this.additionalConfig = additionalConfiguration;
+        this.additionalConfig = additionalConfiguration == null ? Collections.emptyMap() : additionalConfiguration;
     }
 
     @Override
@@ -97,8 +186,65 @@ public class MavenSwaggerGenerator implements BasicCodeGenerator, BuildContextAw
     }
 
     @Override
-    public void setBuildContext(org.sonatype.plexus.build.incremental.BuildContext buildContext) {
+    public void setBuildContext(BuildContext buildContext) {
         log.debug("bc {}", buildContext);
+        this.buildContext = buildContext;
+    }
+
+    private synchronized OutputStream outputStream(File output) throws IOException {
+        if(buildContext != null) {
+            return buildContext.newFileOutputStream(output);
+        }
+        return new FileOutputStream(output);
+    }
+
+    /**
+     * @return files generated previously if inputs have not changed and all the files exist, <code>null</code> otherwise
+     */
+    private Collection<File> upToDate(File outputBaseDir, File fingerprintFile, String fingerprint) throws IOException {
+        if(! fingerprintFile.isFile()) return null;
+        List<String> previous = Files.readAllLines(fingerprintFile.toPath(), StandardCharsets.UTF_8);
+        if(previous.isEmpty() || ! fingerprint.equals(previous.get(0))) return null;
+        List<File> outputs = previous.stream().skip(1).map(f -> new File(outputBaseDir, f)).collect(Collectors.toList());
+        if(outputs.isEmpty() || ! outputs.stream().allMatch(File::isFile)) return null;
+        return outputs;
+    }
+
+    /**
+     * Fingerprint of all inputs that influence generated definition.
+     * All modules of the context are included as they might augment or be imported by the generated ones.
+     * So is the generator implementation, as a new version might produce a different output for the same inputs.
+     */
+    private String fingerprint(SchemaContext ctx, Set<Module> modules, String version, List<String> mimes,
+                               List<SwaggerGenerator.Elements> elements) {
+        Comparator<Module> byId = Comparator.comparing(Module::getName)
+                .thenComparing(Module::getRevision, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        ModuleFingerprint fingerprint = new ModuleFingerprint();
+        ctx.getModules().stream().sorted(byId).forEach(fingerprint::add);
+        modules.stream().sorted(byId).forEach(m -> fingerprint.add("generate:" + m.getName() + "@" + m.getRevision()));
+        new TreeMap<>(additionalConfig).forEach((k, v) -> fingerprint.add(k + "=" + v));
+        fingerprint.add(version).add(mimes).add(elements);
+        fingerprint.add(implementation(SwaggerGenerator.class)).add(implementation(MavenSwaggerGenerator.class));
+        return fingerprint.hex();
+    }
+
+    /**
+     * Version of the artifact the class comes from. As snapshot builds keep their version
+     * the modification time of the artifact is included as well.
+     */
+    private static String implementation(Class<?> clazz) {
+        String version = clazz.getPackage() == null ? null : clazz.getPackage().getImplementationVersion();
+        long modified = 0;
+        try {
+            CodeSource source = clazz.getProtectionDomain().getCodeSource();
+            if(source != null && source.getLocation() != null) {
+                modified = new File(source.getLocation().toURI()).lastModified();
+            }
+        } catch (URISyntaxException | IllegalArgumentException | SecurityException e) {
+            log.debug("cannot locate artifact of {}", clazz.getName());
+        }
+        return clazz.getName() + ":" + version + ":" + modified;
     }
 
     @Override
@@ -118,7 +264,10 @@ public class MavenSwaggerGenerator implements BasicCodeGenerator, BuildContextAw
     }
     
     private SwaggerGenerator.Format format() {
-        String stringFormat = getAdditionalConfigOrDefault("swagger-format", DEFAULT_OUTPUT_FORMAT);
+        return format(getAdditionalConfigOrDefault("swagger-format", DEFAULT_OUTPUT_FORMAT));
+    }
+
+    private SwaggerGenerator.Format format(String stringFormat) {
         if(stringFormat.equalsIgnoreCase("json")) {
             return SwaggerGenerator.Format.JSON;
         } else if(stringFormat.equalsIgnoreCase("yaml")) {